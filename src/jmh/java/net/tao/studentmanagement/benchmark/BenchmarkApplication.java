@@ -0,0 +1,54 @@
+package net.tao.studentmanagement.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import net.tao.studentmanagement.StudentManagementApplication;
+import net.tao.studentmanagement.dto.ImportReport;
+import net.tao.studentmanagement.service.StudentImportService;
+
+/**
+ * Starts the real application (dev profile, in-memory H2) for benchmarks and
+ * tops the seed data up to a realistic table size through the bulk import.
+ */
+final class BenchmarkApplication {
+
+	private static final String[] FIRST_NAMES = { "Alice", "Bob", "Chandra", "Divya", "Elisa", "Farid", "Gopal",
+			"Hana", "Ilya", "Kumar", "Lakshmi", "Mei", "Nadia", "Omar", "Priya", "Ravi" };
+
+	private BenchmarkApplication() {
+	}
+
+	static ConfigurableApplicationContext start(int rows) {
+		// passed as arguments so they win over application.properties
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(StudentManagementApplication.class)
+				.run("--server.port=0", "--spring.main.banner-mode=off", "--spring.thymeleaf.cache=true",
+						"--spring.h2.console.enabled=false", "--logging.level.root=WARN",
+						"--logging.level.net.tao.studentmanagement=WARN");
+
+		ImportReport report = context.getBean(StudentImportService.class)
+				.importCsv(new ByteArrayInputStream(csv(rows).getBytes(StandardCharsets.UTF_8)));
+		if (report.getFailed() > 0)
+			throw new IllegalStateException("Benchmark seed rejected " + report.getFailed() + " rows");
+		return context;
+	}
+
+	/**
+	 * Deterministic rows so runs on different releases see the same data.
+	 */
+	static String csv(int rows) {
+		StringBuilder csv = new StringBuilder("name,address,gender,dob,email,mobile,phone\n");
+		LocalDate firstDob = LocalDate.of(1990, 1, 1);
+		for (int i = 0; i < rows; i++) {
+			String name = FIRST_NAMES[i % FIRST_NAMES.length] + " " + i;
+			csv.append(name).append(",Street ").append(i % 500).append(',').append(i % 2 == 0 ? 'M' : 'F')
+					.append(',').append(firstDob.plusDays(i % 5000)).append(",student").append(i)
+					.append("@test.com,07").append(String.format("%08d", i)).append(",\n");
+		}
+		return csv.toString();
+	}
+}
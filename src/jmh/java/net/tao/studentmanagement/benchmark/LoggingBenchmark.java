@@ -0,0 +1,112 @@
+package net.tao.studentmanagement.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import net.tao.studentmanagement.config.SamplingTurboFilter;
+
+/**
+ * Throughput of the per-request INFO lines from several request threads, with
+ * the previous synchronous file appender against the async pipeline in
+ * logback-spring.xml, with and without sampling. Uses its own LoggerContext
+ * writing to a temp file, so the application's logging setup is untouched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+	@Param({ "sync", "async", "async-sampled" })
+	private String pipeline;
+
+	private LoggerContext context;
+	private Logger logger;
+	private Path file;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		context = new LoggerContext();
+		file = Files.createTempFile("logging-benchmark", ".log");
+
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %-5level [%thread] [%X{correlationId:--}] %logger{36} - %msg%n");
+		encoder.start();
+
+		FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+		fileAppender.setContext(context);
+		fileAppender.setFile(file.toString());
+		fileAppender.setEncoder(encoder);
+		fileAppender.start();
+
+		Appender<ILoggingEvent> appender = fileAppender;
+		if (pipeline.startsWith("async")) {
+			AsyncAppender async = new AsyncAppender();
+			async.setContext(context);
+			async.setQueueSize(8192);
+			async.setDiscardingThreshold(1024);
+			async.setNeverBlock(true);
+			async.addAppender(fileAppender);
+			async.start();
+			appender = async;
+		}
+		if (pipeline.endsWith("sampled")) {
+			SamplingTurboFilter sampling = new SamplingTurboFilter();
+			sampling.addPrefix("Fetching");
+			sampling.addPrefix("Listing");
+			sampling.setRate(10);
+			sampling.start();
+			context.addTurboFilter(sampling);
+		}
+
+		logger = context.getLogger("net.tao.studentmanagement.service.impl.StudentServiceImpl");
+		logger.setLevel(ch.qos.logback.classic.Level.INFO);
+		logger.setAdditive(false);
+		logger.addAppender(appender);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		context.stop();
+		Files.deleteIfExists(file);
+	}
+
+	/** The lines one list request writes. */
+	@Benchmark
+	public void listRequestLines() {
+		logger.info("Listing students: page={}, size={}, keyword='{}', sortField='{}', sortDir='{}', mode='{}'", 3, 10,
+				"", "id", "asc", "offset");
+		logger.info("Fetching paginated sorted students");
+		logger.info("Fetching student page with total. keyword='{}', page={}, size={}, sortField='{}', sortDir='{}'",
+				null, 3, 10, "id", "asc");
+		logger.info("Page {} returned {} of {} records", 3, 10, 20000);
+	}
+}
@@ -0,0 +1,111 @@
+package net.tao.studentmanagement.benchmark;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import net.tao.studentmanagement.dto.PageResult;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
+import net.tao.studentmanagement.service.StudentService;
+
+/**
+ * Thymeleaf rendering of {@code students/list} with a model prepared up front,
+ * so only template work is measured. Template caching is on, as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentListRenderBenchmark {
+
+	@Param({ "10", "50" })
+	private int pageSize;
+
+	private ConfigurableApplicationContext context;
+	private View view;
+	private Map<String, Object> model;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = BenchmarkApplication.start(1000);
+		view = context.getBean("thymeleafViewResolver", ViewResolver.class).resolveViewName("students/list",
+				Locale.ENGLISH);
+
+		PageResult<StudentSummaryDto> page = context.getBean(StudentService.class).getStudentPage(null, 3, pageSize,
+				"id", "asc");
+		model = new HashMap<>();
+		model.put("students", page.getContent());
+		model.put("currentPage", page.getPage());
+		model.put("totalPages", page.getTotalPages());
+		model.put("size", pageSize);
+		model.put("keyword", "");
+		model.put("sortField", "id");
+		model.put("sortDir", "asc");
+		model.put("reverseSort", "desc");
+		model.put("keyset", false);
+		model.put("mode", "offset");
+		model.put("title", "List Student");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public String renderList() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest(
+				((ServletWebServerApplicationContext) context).getServletContext(), "GET", "/students/list");
+		request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, context);
+		StringWriter html = new StringWriter(64 * 1024);
+		view.render(new HashMap<>(model), request, new BufferedResponse(html));
+		return html.toString();
+	}
+
+	/**
+	 * MockHttpServletResponse flushes its writer on every write, which would
+	 * dominate the measurement; collect the output in memory instead.
+	 */
+	private static final class BufferedResponse extends HttpServletResponseWrapper {
+
+		private final PrintWriter writer;
+
+		BufferedResponse(StringWriter html) {
+			super(new MockHttpServletResponse());
+			this.writer = new PrintWriter(html);
+		}
+
+		@Override
+		public PrintWriter getWriter() {
+			return writer;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package net.tao.studentmanagement.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.tao.studentmanagement.dto.StudentRequestDto;
+import net.tao.studentmanagement.dto.StudentResponseDto;
+import net.tao.studentmanagement.mapper.StudentMapper;
+import net.tao.studentmanagement.mapper.StudentMapperImpl;
+import net.tao.studentmanagement.model.Student;
+
+/**
+ * Entity/DTO conversions done on every request. {@code dobAtStartOfDay} is the
+ * baseline for the string round trip in {@link StudentMapper#convertToDateTime}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentMapperBenchmark {
+
+	private StudentMapper mapper;
+	private Student entity;
+	private StudentRequestDto request;
+	private Student target;
+
+	@Setup
+	public void setUp() {
+		mapper = new StudentMapperImpl();
+
+		entity = new Student();
+		entity.setId(42);
+		entity.setName("Alice");
+		entity.setAddress("12 Main Street");
+		entity.setGender("F");
+		entity.setDob(LocalDateTime.of(1995, 3, 14, 0, 0));
+		entity.setEmail("alice@test.com");
+		entity.setMobile("0712345678");
+		entity.setPhone("0112345678");
+		entity.setVersion(3L);
+
+		request = new StudentRequestDto();
+		request.setName("Alice Smith");
+		request.setGender("F");
+		request.setDob(LocalDate.of(1995, 3, 14));
+		request.setEmail("alice.smith@test.com");
+		request.setMobile("0712345679");
+
+		target = new Student();
+	}
+
+	@Benchmark
+	public StudentResponseDto toResponseDto() {
+		return mapper.toResponseDto(entity);
+	}
+
+	@Benchmark
+	public Student toEntity() {
+		return mapper.toEntity(request);
+	}
+
+	@Benchmark
+	public Student updateEntityFromDto() {
+		mapper.updateEntityFromDto(request, target);
+		return target;
+	}
+
+	@Benchmark
+	public LocalDateTime convertToDateTime() {
+		return mapper.convertToDateTime(request.getDob());
+	}
+
+	@Benchmark
+	public LocalDateTime dobAtStartOfDay() {
+		return request.getDob().atStartOfDay();
+	}
+}
@@ -0,0 +1,84 @@
+package net.tao.studentmanagement.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import net.tao.studentmanagement.dto.CursorPage;
+import net.tao.studentmanagement.dto.PageResult;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
+import net.tao.studentmanagement.service.StudentService;
+
+/**
+ * The list page's queries through the real service, transactions and H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentServiceBenchmark {
+
+	@Param({ "10000" })
+	private int rows;
+
+	private ConfigurableApplicationContext context;
+	private StudentService service;
+	private int lastPage;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start(rows);
+		service = context.getBean(StudentService.class);
+		lastPage = service.getStudentPage(null, 0, 10, "id", "asc").getTotalPages() - 1;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public PageResult<StudentSummaryDto> firstPageById() {
+		return service.getStudentPage(null, 0, 10, "id", "asc");
+	}
+
+	@Benchmark
+	public PageResult<StudentSummaryDto> deepPageByName() {
+		return service.getStudentPage(null, lastPage, 10, "name", "asc");
+	}
+
+	@Benchmark
+	public CursorPage<StudentSummaryDto> keysetFirstPageByName() {
+		return service.getStudentsKeyset(null, 10, "name", "asc");
+	}
+
+	@Benchmark
+	public PageResult<StudentSummaryDto> searchByKeyword() {
+		return service.getStudentPage("ravi", 0, 10, "id", "asc");
+	}
+
+	@Benchmark
+	public long countAll() {
+		return service.getTotalCount();
+	}
+
+	@Benchmark
+	public long countSearchResults() {
+		return service.countSearchResults("ravi");
+	}
+}
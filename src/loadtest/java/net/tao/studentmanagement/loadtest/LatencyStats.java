@@ -0,0 +1,93 @@
+package net.tao.studentmanagement.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import net.tao.studentmanagement.loadtest.Operation.Outcome;
+
+/**
+ * Per-operation latency histograms and outcome counts.
+ *
+ * Latencies are taken from the time a request was <em>scheduled</em> to start,
+ * not when it was actually sent, so a stalled server shows up as queueing delay
+ * for every request it held back (coordinated omission correction).
+ */
+final class LatencyStats {
+
+	private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(10);
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+	private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+	private final Map<Operation, LongAdder> conflicts = new EnumMap<>(Operation.class);
+	private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+	LatencyStats() {
+		for (Operation op : Operation.values()) {
+			histograms.put(op, new ConcurrentHistogram(HIGHEST_TRACKABLE, 3));
+			conflicts.put(op, new LongAdder());
+			errors.put(op, new LongAdder());
+		}
+	}
+
+	void record(Operation op, Outcome outcome, long latencyNanos) {
+		histograms.get(op).recordValue(Math.min(Math.max(latencyNanos, 1), HIGHEST_TRACKABLE));
+		if (outcome == Outcome.CONFLICT)
+			conflicts.get(op).increment();
+		else if (outcome == Outcome.ERROR)
+			errors.get(op).increment();
+	}
+
+	/**
+	 * Prints the summary table to {@code out}, and writes the same table plus one
+	 * HdrHistogram percentile file per operation into {@code dir}.
+	 */
+	void report(String title, double seconds, PrintStream out, Path dir) throws IOException {
+		Files.createDirectories(dir);
+		StringBuilder table = new StringBuilder(title).append(System.lineSeparator());
+		table.append(String.format(Locale.ROOT, "%-8s %9s %7s %9s %10s %9s %9s %9s %9s%n", "op", "count", "errors",
+				"conflicts", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+		Histogram all = new Histogram(HIGHEST_TRACKABLE, 3);
+		long allErrors = 0;
+		long allConflicts = 0;
+		for (Operation op : Operation.values()) {
+			Histogram h = histograms.get(op);
+			if (h.getTotalCount() == 0)
+				continue;
+			all.add(h);
+			allErrors += errors.get(op).sum();
+			allConflicts += conflicts.get(op).sum();
+			table.append(row(op.name().toLowerCase(Locale.ROOT), h, errors.get(op).sum(), conflicts.get(op).sum(),
+					seconds));
+
+			try (PrintStream hgrm = new PrintStream(
+					Files.newOutputStream(dir.resolve(op.name().toLowerCase(Locale.ROOT) + ".hgrm")))) {
+				h.outputPercentileDistribution(hgrm, NANOS_PER_MILLI);
+			}
+		}
+		table.append(row("total", all, allErrors, allConflicts, seconds));
+
+		out.print(table);
+		Files.writeString(dir.resolve("report.txt"), table);
+	}
+
+	private static String row(String name, Histogram h, long errors, long conflicts, double seconds) {
+		return String.format(Locale.ROOT, "%-8s %9d %7d %9d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name,
+				h.getTotalCount(), errors, conflicts, h.getTotalCount() / seconds, millis(h, 50), millis(h, 99),
+				millis(h, 99.9), h.getMaxValue() / NANOS_PER_MILLI);
+	}
+
+	private static double millis(Histogram h, double percentile) {
+		return h.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+	}
+}
@@ -0,0 +1,140 @@
+package net.tao.studentmanagement.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import net.tao.studentmanagement.loadtest.Operation.Outcome;
+
+/**
+ * HTTP load generator for a locally running instance of the application.
+ *
+ * <pre>
+ *   mvn spring-boot:run                      (in one terminal)
+ *   mvn -Ploadtest -DskipTests verify -Dloadtest.rate=500 -Dloadtest.duration=PT2M
+ * </pre>
+ *
+ * In open mode requests are issued on a fixed schedule of {@code loadtest.rate}
+ * per second no matter how long responses take, the way real users arrive.
+ * In closed mode {@code loadtest.concurrency} clients each wait for their
+ * response before sending the next request, optionally paced to a combined
+ * {@code loadtest.rate}. Either way latency is measured from the scheduled
+ * start, see {@link LatencyStats}.
+ *
+ * The report is printed and written to {@code loadtest.report-dir}.
+ */
+public final class LoadTest {
+
+	private final LoadTestConfig config;
+	private final StudentTraffic traffic;
+	private final LatencyStats stats = new LatencyStats();
+
+	private LoadTest(LoadTestConfig config, StudentTraffic traffic) {
+		this.config = config;
+		this.traffic = traffic;
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+		ExecutorService callbacks = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5)).followRedirects(HttpClient.Redirect.NEVER).executor(callbacks)
+				.build();
+		try {
+			StudentTraffic traffic = new StudentTraffic(client, config.baseUrl);
+			traffic.loadExisting(config.idPoolSize);
+			System.out.printf("Load test: %s (%d students sampled)%n", config, traffic.knownStudents());
+
+			LoadTest test = new LoadTest(config, traffic);
+			long start = System.nanoTime();
+			long measureFrom = start + config.warmup.toNanos();
+			long end = measureFrom + config.duration.toNanos();
+			if (config.mode == LoadTestConfig.Mode.OPEN)
+				test.runOpen(start, measureFrom, end);
+			else
+				test.runClosed(start, measureFrom, end);
+
+			double seconds = config.duration.toNanos() / 1e9;
+			test.stats.report("Load test " + LocalDateTime.now().withNano(0) + ": " + config, seconds, System.out,
+					config.reportDir);
+		} finally {
+			callbacks.shutdownNow();
+		}
+	}
+
+	/**
+	 * Issues request i at {@code start + i / rate} from a single thread. The
+	 * client is asynchronous, so slow responses never delay later sends; the
+	 * in-flight cap only guards memory if the server stops answering.
+	 */
+	private void runOpen(long start, long measureFrom, long end) throws InterruptedException {
+		Semaphore inFlight = new Semaphore(config.maxInFlight);
+		double intervalNanos = 1e9 / config.rate;
+		for (long i = 0;; i++) {
+			long intended = start + (long) (i * intervalNanos);
+			if (intended >= end)
+				break;
+			parkUntil(intended);
+			inFlight.acquire();
+
+			Operation op = config.pick();
+			traffic.execute(op).whenComplete((outcome, ex) -> {
+				inFlight.release();
+				if (intended >= measureFrom)
+					stats.record(op, ex == null ? outcome : Outcome.ERROR, System.nanoTime() - intended);
+			});
+		}
+		if (!inFlight.tryAcquire(config.maxInFlight, 60, TimeUnit.SECONDS))
+			System.out.println("Gave up waiting for outstanding requests");
+	}
+
+	/**
+	 * Each client sends, waits for the answer and sends again. With a rate set,
+	 * each client keeps its own schedule and a late response eats into the next
+	 * slot instead of silently pushing the schedule back.
+	 */
+	private void runClosed(long start, long measureFrom, long end) throws InterruptedException {
+		long intervalNanos = config.rate > 0 ? (long) (config.concurrency * 1e9 / config.rate) : 0;
+		List<Thread> clients = new ArrayList<>();
+		for (int c = 0; c < config.concurrency; c++) {
+			long offset = intervalNanos * c / config.concurrency;
+			Thread client = new Thread(() -> {
+				long next = start + offset;
+				while (true) {
+					long intended = intervalNanos > 0 ? next : System.nanoTime();
+					if (intended >= end)
+						return;
+					parkUntil(intended);
+
+					Operation op = config.pick();
+					Outcome outcome;
+					try {
+						outcome = traffic.execute(op).join();
+					} catch (RuntimeException e) {
+						outcome = Outcome.ERROR;
+					}
+					if (intended >= measureFrom)
+						stats.record(op, outcome, System.nanoTime() - intended);
+					next += intervalNanos;
+				}
+			}, "loadtest-client-" + c);
+			client.start();
+			clients.add(client);
+		}
+		for (Thread client : clients)
+			client.join();
+	}
+
+	private static void parkUntil(long nanoTime) {
+		long wait;
+		while ((wait = nanoTime - System.nanoTime()) > 0)
+			LockSupport.parkNanos(wait);
+	}
+}
@@ -0,0 +1,95 @@
+package net.tao.studentmanagement.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Load test settings, read from system properties so they can be given on the
+ * Maven command line, e.g. {@code -Dloadtest.rate=500}.
+ */
+final class LoadTestConfig {
+
+	/** open: fixed arrival rate regardless of response times; closed: fixed number of clients. */
+	enum Mode {
+		OPEN, CLOSED
+	}
+
+	final String baseUrl;
+	final Mode mode;
+	final double rate;
+	final int concurrency;
+	final int maxInFlight;
+	final Duration warmup;
+	final Duration duration;
+	final int idPoolSize;
+	final Path reportDir;
+	private final Operation[] weighted;
+
+	private LoadTestConfig(String baseUrl, Mode mode, double rate, int concurrency, int maxInFlight,
+			Duration warmup, Duration duration, int idPoolSize, Path reportDir, Map<Operation, Integer> mix) {
+		this.baseUrl = baseUrl;
+		this.mode = mode;
+		this.rate = rate;
+		this.concurrency = concurrency;
+		this.maxInFlight = maxInFlight;
+		this.warmup = warmup;
+		this.duration = duration;
+		this.idPoolSize = idPoolSize;
+		this.reportDir = reportDir;
+		this.weighted = mix.entrySet().stream()
+				.flatMap(e -> Stream.generate(e::getKey).limit(e.getValue()))
+				.toArray(Operation[]::new);
+		if (weighted.length == 0)
+			throw new IllegalArgumentException("loadtest.mix must give at least one operation a weight");
+		if (mode == Mode.OPEN && rate <= 0)
+			throw new IllegalArgumentException("Open-loop mode needs loadtest.rate > 0");
+	}
+
+	static LoadTestConfig fromSystemProperties() {
+		return new LoadTestConfig(
+				System.getProperty("loadtest.base-url", "http://localhost:8080"),
+				Mode.valueOf(System.getProperty("loadtest.mode", "open").toUpperCase(Locale.ROOT)),
+				Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+				Integer.getInteger("loadtest.concurrency", 16),
+				Integer.getInteger("loadtest.max-in-flight", 2048),
+				Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+				Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+				Integer.getInteger("loadtest.id-pool", 1000),
+				Path.of(System.getProperty("loadtest.report-dir", "target/loadtest")),
+				parseMix(System.getProperty("loadtest.mix", "list=40,search=20,view=25,create=6,update=6,delete=3")));
+	}
+
+	/**
+	 * Parses "list=40,search=20,..." into relative weights.
+	 */
+	static Map<Operation, Integer> parseMix(String mix) {
+		Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+		for (String part : mix.split(",")) {
+			String[] kv = part.trim().split("=");
+			if (kv.length != 2)
+				throw new IllegalArgumentException("Bad loadtest.mix entry: " + part);
+			int weight = Integer.parseInt(kv[1].trim());
+			if (weight < 0)
+				throw new IllegalArgumentException("Negative weight in loadtest.mix: " + part);
+			weights.put(Operation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), weight);
+		}
+		return weights;
+	}
+
+	Operation pick() {
+		return weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+	}
+
+	@Override
+	public String toString() {
+		String load = mode == Mode.OPEN ? String.format("%.0f req/s", rate)
+				: concurrency + " clients" + (rate > 0 ? String.format(" at %.0f req/s", rate) : "");
+		return String.format("%s %s against %s, warmup %ss, measured %ss", mode.name().toLowerCase(Locale.ROOT),
+				load, baseUrl, warmup.toSeconds(), duration.toSeconds());
+	}
+}
@@ -0,0 +1,13 @@
+package net.tao.studentmanagement.loadtest;
+
+/**
+ * The user actions the load test replays, named as in {@code loadtest.mix}.
+ */
+enum Operation {
+	LIST, SEARCH, VIEW, CREATE, UPDATE, DELETE;
+
+	/** How a single request ended. A conflict is an expected 409 from a stale version. */
+	enum Outcome {
+		OK, CONFLICT, ERROR
+	}
+}
@@ -0,0 +1,173 @@
+package net.tao.studentmanagement.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.tao.studentmanagement.loadtest.Operation.Outcome;
+
+/**
+ * Turns each {@link Operation} into the request the browser UI would send.
+ *
+ * Reads go to existing students sampled through the JSON API before the run.
+ * Updates and deletes only touch students this run created, so the seed data
+ * survives and updates can send the version they last saw.
+ */
+final class StudentTraffic {
+
+	private static final Pattern HIGHLIGHT = Pattern.compile("[?&]highlight=(\\d+)");
+	private static final Pattern VERSION = Pattern.compile("\"version\"\\s*:\\s*(\\d+)");
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+	private static final int PAGE_SIZE = 10;
+
+	private final HttpClient client;
+	private final String baseUrl;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final List<Integer> knownIds = new ArrayList<>();
+	private final List<String> searchTerms = new ArrayList<>();
+	private final Map<Integer, Long> created = new ConcurrentHashMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+	private int pages;
+
+	StudentTraffic(HttpClient client, String baseUrl) {
+		this.client = client;
+		this.baseUrl = baseUrl;
+	}
+
+	/**
+	 * Samples up to {@code limit} existing ids and names, one API page at a time.
+	 */
+	void loadExisting(int limit) throws IOException, InterruptedException {
+		String cursor = null;
+		do {
+			String url = baseUrl + "/api/v1/students?size=100" + (cursor == null ? "" : "&cursor=" + encode(cursor));
+			HttpResponse<String> response = client.send(get(url), HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() != 200)
+				throw new IOException("Listing students failed with HTTP " + response.statusCode() + " from " + url);
+
+			JsonNode page = objectMapper.readTree(response.body());
+			for (JsonNode student : page.path("content")) {
+				knownIds.add(student.path("id").asInt());
+				String name = student.path("name").asText("");
+				if (name.length() >= 3)
+					searchTerms.add(name.substring(0, 3));
+			}
+			cursor = page.path("nextCursor").isTextual() ? page.path("nextCursor").asText() : null;
+		} while (cursor != null && knownIds.size() < limit);
+
+		if (knownIds.isEmpty())
+			throw new IllegalStateException("No students at " + baseUrl + "; seed some data first");
+		pages = Math.max(1, knownIds.size() / PAGE_SIZE);
+	}
+
+	int knownStudents() {
+		return knownIds.size();
+	}
+
+	CompletableFuture<Outcome> execute(Operation op) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		switch (op) {
+		case LIST:
+			return send(get(baseUrl + "/students/list?page=" + random.nextInt(pages) + "&size=" + PAGE_SIZE));
+		case SEARCH:
+			return send(get(baseUrl + "/students/list?size=" + PAGE_SIZE + "&keyword="
+					+ encode(searchTerms.isEmpty() ? "a" : searchTerms.get(random.nextInt(searchTerms.size())))));
+		case VIEW:
+			return send(get(baseUrl + "/students/" + knownIds.get(random.nextInt(knownIds.size())) + "/details"));
+		case UPDATE:
+			Integer updateId = anyCreated();
+			return updateId == null ? execute(Operation.CREATE) : update(updateId);
+		case DELETE:
+			Integer deleteId = anyCreated();
+			if (deleteId == null || created.remove(deleteId) == null)
+				return execute(Operation.CREATE);
+			return send(HttpRequest.newBuilder(URI.create(baseUrl + "/students/" + deleteId + "/delete"))
+					.timeout(TIMEOUT).DELETE().build());
+		case CREATE:
+		default:
+			return create();
+		}
+	}
+
+	private CompletableFuture<Outcome> create() {
+		long n = sequence.incrementAndGet();
+		String form = "name=" + encode("Load " + n) + "&gender=" + (n % 2 == 0 ? "M" : "F") + "&dob=1995-01-01"
+				+ "&email=load" + n + "%40test.com&mobile=07" + String.format("%08d", n % 100_000_000) + "&size="
+				+ PAGE_SIZE;
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/students")).timeout(TIMEOUT)
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(form)).build();
+
+		return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).handle((response, ex) -> {
+			if (ex != null || response.statusCode() != 302)
+				return Outcome.ERROR;
+			Matcher m = HIGHLIGHT.matcher(response.headers().firstValue("Location").orElse(""));
+			if (m.find())
+				created.put(Integer.valueOf(m.group(1)), 0L);
+			return Outcome.OK;
+		});
+	}
+
+	private CompletableFuture<Outcome> update(Integer id) {
+		Long version = created.get(id);
+		if (version == null)
+			return create();
+		String body = "{\"version\":" + version + ",\"mobile\":\"07"
+				+ String.format("%08d", ThreadLocalRandom.current().nextInt(100_000_000)) + "\"}";
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/students/" + id)).timeout(TIMEOUT)
+				.header("Content-Type", "application/json")
+				.method("PATCH", HttpRequest.BodyPublishers.ofString(body)).build();
+
+		return client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).handle((response, ex) -> {
+			if (ex != null)
+				return Outcome.ERROR;
+			if (response.statusCode() == 409 || response.statusCode() == 404) {
+				// raced with another update or a delete; stop using this row
+				created.remove(id);
+				return Outcome.CONFLICT;
+			}
+			if (response.statusCode() != 200)
+				return Outcome.ERROR;
+			Matcher m = VERSION.matcher(response.body());
+			if (m.find())
+				created.replace(id, Long.valueOf(m.group(1)));
+			return Outcome.OK;
+		});
+	}
+
+	private Integer anyCreated() {
+		Object[] ids = created.keySet().toArray();
+		return ids.length == 0 ? null : (Integer) ids[ThreadLocalRandom.current().nextInt(ids.length)];
+	}
+
+	private CompletableFuture<Outcome> send(HttpRequest request) {
+		return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.handle((response, ex) -> ex == null && response.statusCode() < 400 ? Outcome.OK : Outcome.ERROR);
+	}
+
+	private static HttpRequest get(String url) {
+		return HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET().build();
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,13 @@
+package net.tao.studentmanagement.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's cache abstraction; caches themselves are configured through
+ * the spring.cache.* properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
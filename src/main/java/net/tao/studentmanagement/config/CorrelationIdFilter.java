@@ -0,0 +1,59 @@
+package net.tao.studentmanagement.config;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tags every log line of a request with a correlation id and writes one
+ * key=value summary line when the request completes.
+ *
+ * The id is taken from the {@code X-Correlation-Id} request header when it
+ * looks sane, otherwise generated, and is echoed in the response so clients
+ * can quote it.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+	public static final String HEADER = "X-Correlation-Id";
+	public static final String MDC_KEY = "correlationId";
+
+	private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String id = request.getHeader(HEADER);
+		if (id == null || !VALID_ID.matcher(id).matches())
+			id = newId();
+
+		long start = System.nanoTime();
+		MDC.put(MDC_KEY, id);
+		response.setHeader(HEADER, id);
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			log.info("request method={} uri={} status={} durationMs={}", request.getMethod(),
+					request.getRequestURI(), response.getStatus(), (System.nanoTime() - start) / 1_000_000);
+			MDC.remove(MDC_KEY);
+		}
+	}
+
+	private static String newId() {
+		return Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+	}
+}
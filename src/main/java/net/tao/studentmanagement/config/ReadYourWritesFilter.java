@@ -0,0 +1,97 @@
+package net.tao.studentmanagement.config;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import net.tao.studentmanagement.event.StudentChangedEvent;
+import net.tao.studentmanagement.repository.support.ReplicaRoutingDataSource;
+
+/**
+ * Read-your-writes on top of replica routing: once a session has changed
+ * students, its requests read from the primary for the configured window, so
+ * the list shown after a create or delete includes the change even while the
+ * replicas lag behind.
+ *
+ * The time of the last write is kept in the HTTP session; sessions are only
+ * created by writes. Clients that keep no session, such as most /api/v1
+ * callers, get the same time in the X-Last-Write response header of a write
+ * and opt in by sending it back on their reads. Times in the future are
+ * ignored, so one header value pins a client for one window at most.
+ *
+ * Caches shared by all clients do not rely on this window; they refuse what a
+ * replica may have returned before catching up
+ * (see {@link ReplicaRoutingDataSource#mayBeBehind}).
+ * Registered by {@link ReplicaDataSourceConfig}.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	static final String LAST_WRITE = ReadYourWritesFilter.class.getName() + ".LAST_WRITE";
+
+	public static final String LAST_WRITE_HEADER = "X-Last-Write";
+
+	private final Duration window;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		if (System.currentTimeMillis() - lastWrite(request) < window.toMillis())
+			ReplicaRoutingDataSource.pinToPrimary();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			ReplicaRoutingDataSource.unpin();
+		}
+	}
+
+	/** Latest write known from the session or the header, 0 when neither has one. */
+	private static long lastWrite(HttpServletRequest request) {
+		long lastWrite = 0;
+		HttpSession session = request.getSession(false);
+		if (session != null && session.getAttribute(LAST_WRITE) instanceof Long inSession)
+			lastWrite = inSession;
+		String header = request.getHeader(LAST_WRITE_HEADER);
+		if (header != null) {
+			try {
+				long sent = Long.parseLong(header.trim());
+				// only this server issues the header, so a later time is not one of ours
+				if (sent <= System.currentTimeMillis())
+					lastWrite = Math.max(lastWrite, sent);
+			} catch (NumberFormatException e) {
+				// not one of ours; reads stay on the replicas
+			}
+		}
+		return lastWrite;
+	}
+
+	/**
+	 * Records a committed write against the current session and in the response, and moves the rest
+	 * of this request, such as the list re-rendered after an inline delete, to
+	 * the primary. Writes outside a request are ignored, and the thread is only
+	 * pinned inside this filter, which unpins it again.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStudentChanged(StudentChangedEvent event) {
+		RequestAttributes request = RequestContextHolder.getRequestAttributes();
+		if (request == null)
+			return;
+		long now = System.currentTimeMillis();
+		request.setAttribute(LAST_WRITE, now, RequestAttributes.SCOPE_SESSION);
+		if (request instanceof ServletRequestAttributes servlet && servlet.getResponse() != null)
+			servlet.getResponse().setHeader(LAST_WRITE_HEADER, Long.toString(now));
+		if (request.getAttribute(getAlreadyFilteredAttributeName(), RequestAttributes.SCOPE_REQUEST) != null)
+			ReplicaRoutingDataSource.pinToPrimary();
+	}
+}
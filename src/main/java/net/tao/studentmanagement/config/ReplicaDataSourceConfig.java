@@ -0,0 +1,120 @@
+package net.tao.studentmanagement.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import net.tao.studentmanagement.repository.support.ReplicaRoutingDataSource;
+
+/**
+ * Read/write splitting, active once app.datasource.replicas lists at least
+ * one replica; without replicas Boot's single data source is left as is.
+ *
+ * Read-only transactions are served by the replicas and everything else by
+ * the primary configured under spring.datasource. Both get the
+ * spring.datasource.hikari pool settings; replica pools are read-only. After
+ * a write, the writing session, or a client echoing the X-Last-Write header,
+ * keeps reading from the primary for app.datasource.read-your-writes-window
+ * (see {@link ReadYourWritesFilter}).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty("app.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaDataSourceConfig.ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+	@Data
+	@ConfigurationProperties("app.datasource")
+	public static class ReplicaProperties {
+
+		private List<Replica> replicas = new ArrayList<>();
+
+		/**
+		 * How long a session that wrote keeps reading from the primary; also
+		 * taken as the longest the replicas lag behind.
+		 */
+		private Duration readYourWritesWindow = Duration.ofSeconds(5);
+	}
+
+	@Data
+	public static class Replica {
+
+		private String url;
+		private String username;
+		private String password;
+
+		/** SQL scripts run on the replica at startup, e.g. to seed a local H2 stand-in. */
+		private List<String> initScripts = new ArrayList<>();
+	}
+
+	@Bean
+	public ReplicaRoutingDataSource routingDataSource(DataSourceProperties primaryProperties,
+			ReplicaProperties properties, Environment environment, ResourceLoader resourceLoader,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class)
+				.build();
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+		if (primary.getPoolName() == null)
+			primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		for (Replica replica : properties.getReplicas()) {
+			String name = "replica-" + (replicas.size() + 1);
+			HikariDataSource pool = DataSourceBuilder.create().type(HikariDataSource.class).url(replica.getUrl())
+					.username(replica.getUsername()).password(replica.getPassword()).build();
+			Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+			pool.setPoolName(name);
+			pool.setReadOnly(true);
+			// Actuator only instruments the pool it can reach through the DataSource beans: the primary
+			meterRegistry.ifAvailable(
+					registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+
+			if (!replica.getInitScripts().isEmpty()) {
+				ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+				replica.getInitScripts().forEach(script -> populator.addScript(resourceLoader.getResource(script)));
+				populator.execute(pool);
+			}
+			replicas.put(name, pool);
+			log.info("Read-only transactions may use {} at {}", name, replica.getUrl());
+		}
+		return new ReplicaRoutingDataSource(primary, replicas, properties.getReadYourWritesWindow());
+	}
+
+	/** The data source JPA and SQL initialization use. */
+	@Bean
+	@Primary
+	public LazyConnectionDataSourceProxy dataSource(ReplicaRoutingDataSource routingDataSource) {
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+
+	@Bean
+	public ReadYourWritesFilter readYourWritesFilter(ReplicaProperties properties) {
+		return new ReadYourWritesFilter(properties.getReadYourWritesWindow());
+	}
+}
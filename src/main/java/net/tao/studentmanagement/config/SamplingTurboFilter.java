@@ -0,0 +1,49 @@
+package net.tao.studentmanagement.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Keeps one in {@code rate} INFO messages whose format starts with one of the
+ * configured prefixes, e.g. the "Listing students..." line every list request
+ * writes. Other messages and other levels are left alone.
+ *
+ * Turbo filters run before the event is built or formatted, so a dropped
+ * message costs a prefix check and a counter increment. Configured in
+ * logback-spring.xml.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+	private final List<String> prefixes = new ArrayList<>();
+	private final List<AtomicLong> counters = new ArrayList<>();
+	private int rate = 1;
+
+	public void addPrefix(String prefix) {
+		prefixes.add(prefix);
+		counters.add(new AtomicLong());
+	}
+
+	public void setRate(int rate) {
+		this.rate = Math.max(1, rate);
+	}
+
+	@Override
+	public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+			Throwable t) {
+		if (rate == 1 || level != Level.INFO || format == null || t != null)
+			return FilterReply.NEUTRAL;
+		for (int i = 0; i < prefixes.size(); i++) {
+			if (format.startsWith(prefixes.get(i)))
+				return counters.get(i).getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+		}
+		return FilterReply.NEUTRAL;
+	}
+}
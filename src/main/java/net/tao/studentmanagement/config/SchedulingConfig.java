@@ -0,0 +1,13 @@
+package net.tao.studentmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs such as the periodic reconciliation of in-memory
+ * counters with the database.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,107 @@
+package net.tao.studentmanagement.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.TransformedResource;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves the app's own scripts and styles under content-hash URLs
+ * (student-actions-3f2a....js) with a one-year immutable Cache-Control, so a
+ * browser fetches each version once. The same files requested by their plain
+ * URL get no-cache instead, so they are revalidated and pick up the next
+ * deploy. Links written as {@code @{/js/...}} are
+ * rewritten to the hashed URL by Spring's ResourceUrlEncodingFilter, which
+ * Boot registers when spring.web.resources.chain.enabled is set.
+ *
+ * Precompressed .br/.gz siblings produced by the prod Maven build are served
+ * as-is to clients that accept them.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.assets.versioned", havingValue = "true")
+public class StaticAssetConfig implements WebMvcConfigurer {
+
+	private static final CacheControl ONE_YEAR = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+	@Override
+	public void addResourceHandlers(ResourceHandlerRegistry registry) {
+		register(registry, "/js/**", "classpath:/static/js/");
+		register(registry, "/css/**", "classpath:/static/css/");
+	}
+
+	private static void register(ResourceHandlerRegistry registry, String pattern, String location) {
+		registry.addResourceHandler(pattern)
+				.addResourceLocations(location)
+				.setCacheControl(CacheControl.noCache())
+				.resourceChain(true)
+				.addResolver(new ImmutableVersionResolver())
+				// must come before the version resolver
+				.addResolver(new EncodedResourceResolver())
+				.addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+	}
+
+	/**
+	 * Marks resources requested by a content-hash URL as immutable. The version
+	 * resolver strips a hash only after checking it against the file, so a
+	 * resolved file name that differs from the requested one means the URL was
+	 * versioned. Headers of an HttpResource override the handler's no-cache.
+	 */
+	static class ImmutableVersionResolver extends AbstractResourceResolver {
+
+		@Override
+		protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+				List<? extends Resource> locations, ResourceResolverChain chain) {
+			Resource resource = chain.resolveResource(request, requestPath, locations);
+			if (resource == null || requestPath.endsWith("/" + resource.getFilename())
+					|| requestPath.equals(resource.getFilename()))
+				return resource;
+			try {
+				return new ImmutableResource(resource);
+			} catch (IOException e) {
+				log.warn("Cannot read {}, serving it without long-term caching", requestPath, e);
+				return resource;
+			}
+		}
+
+		@Override
+		protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+				ResourceResolverChain chain) {
+			return chain.resolveUrlPath(resourceUrlPath, locations);
+		}
+	}
+
+	/** Resolved versioned asset (possibly precompressed) plus the immutable Cache-Control. */
+	private static class ImmutableResource extends TransformedResource implements HttpResource {
+
+		private final HttpHeaders headers = new HttpHeaders();
+
+		ImmutableResource(Resource resolved) throws IOException {
+			super(resolved, resolved.getContentAsByteArray());
+			if (resolved instanceof HttpResource http)
+				headers.putAll(http.getResponseHeaders());
+			headers.setCacheControl(ONE_YEAR);
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			return headers;
+		}
+	}
+}
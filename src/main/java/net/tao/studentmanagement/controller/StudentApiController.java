@@ -0,0 +1,168 @@
+package net.tao.studentmanagement.controller;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tao.studentmanagement.dto.CursorPage;
+import net.tao.studentmanagement.dto.PageResult;
+import net.tao.studentmanagement.dto.StudentRequestDto;
+import net.tao.studentmanagement.dto.StudentResponseDto;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
+import net.tao.studentmanagement.model.StudentSortField;
+import net.tao.studentmanagement.service.StudentService;
+import net.tao.studentmanagement.service.support.StudentChanges;
+import net.tao.studentmanagement.service.support.StudentPatchReader;
+import net.tao.studentmanagement.service.support.StudentPatchReader.Patch;
+
+/**
+ * JSON API over the same {@link StudentService} as the HTML pages, for machine
+ * clients. Responses are written by Jackson straight to the response stream;
+ * errors come back as RFC 7807 problem details (see ApiExceptionHandler).
+ *
+ * Page sizes are capped at {@code app.api.max-page-size} whatever the client
+ * asks for; the size actually used is echoed in each page.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/students")
+public class StudentApiController {
+
+	private final StudentService studentService;
+	private final StudentPatchReader patchReader;
+
+	@Value("${app.api.default-page-size:20}")
+	private int defaultPageSize;
+
+	@Value("${app.api.max-page-size:100}")
+	private int maxPageSize;
+
+	@Value("${app.api.max-delete-batch-size:1000}")
+	private int maxDeleteBatch;
+
+	/**
+	 * Lists all students one cursor page at a time, ordered by id or name; the
+	 * other sort fields are accepted and served in id order. Pass
+	 * {@code nextCursor} or {@code prevCursor} from a page to move on.
+	 */
+	@GetMapping
+	public CursorPage<StudentSummaryDto> listStudents(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size, @RequestParam(defaultValue = "id") String sortField,
+			@RequestParam(defaultValue = "asc") String sortDir) {
+		log.info("API listing students: size={}, sortField='{}', sortDir='{}'", size, sortField, sortDir);
+		StudentSortField.from(sortField); // same whitelist as the list page
+		return studentService.getStudentsKeyset(cursor, pageSize(size), sortField, sortDir);
+	}
+
+	/** Name search, with numbered pages and the total number of matches. */
+	@GetMapping("/search")
+	public PageResult<StudentSummaryDto> searchStudents(@RequestParam String keyword,
+			@RequestParam(defaultValue = "0") int page, @RequestParam(required = false) Integer size,
+			@RequestParam(defaultValue = "id") String sortField, @RequestParam(defaultValue = "asc") String sortDir) {
+		log.info("API searching students: keyword='{}', page={}, size={}", keyword, page, size);
+		StudentSortField.from(sortField);
+		return studentService.getStudentPage(keyword, Math.max(page, 0), pageSize(size), sortField, sortDir);
+	}
+
+	/** One student, with a strong ETag; a matching If-None-Match gets 304. */
+	@GetMapping("/{id}")
+	public ResponseEntity<StudentResponseDto> getStudent(@PathVariable Integer id) {
+		log.info("API fetching student id={}", id);
+		StudentResponseDto student = studentService.getStudentById(id);
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag(id, student.getVersion()))
+				.body(student);
+	}
+
+	@PostMapping
+	public ResponseEntity<StudentResponseDto> createStudent(@Valid @RequestBody StudentRequestDto dto) {
+		log.info("API creating student: {}", dto.getName());
+		StudentResponseDto created = studentService.createStudent(dto);
+		return ResponseEntity.created(URI.create("/api/v1/students/" + created.getId()))
+				.eTag(etag(created.getId(), created.getVersion())).body(created);
+	}
+
+	/**
+	 * Replaces every field of a student. The body must carry the version it was
+	 * based on; the write is a single version-checked UPDATE.
+	 */
+	@PutMapping("/{id}")
+	public ResponseEntity<Object> updateStudent(@PathVariable Integer id,
+			@Valid @RequestBody StudentRequestDto dto) {
+		log.info("API updating student id={}", id);
+		if (dto.getVersion() == null)
+			return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+					.body(ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_REQUIRED, "version is required"));
+		long version = studentService.patchStudent(id, dto.getVersion(), dto, StudentChanges.FIELDS);
+		return versioned(id, version);
+	}
+
+	/** Changes only the fields present in the body, e.g. {"version": 3, "mobile": "0123"}. */
+	@PatchMapping("/{id}")
+	public ResponseEntity<Object> patchStudent(@PathVariable Integer id, @RequestBody Map<String, Object> body) {
+		log.info("API patching student id={} fields={}", id, body.keySet());
+		Patch patch = patchReader.read(body);
+		if (!patch.isValid()) {
+			ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Validation failed");
+			problem.setProperty("errors", patch.errors());
+			return ResponseEntity.badRequest().body(problem);
+		}
+		long version = studentService.patchStudent(id, patch.version(), patch.values(), patch.fields());
+		return versioned(id, version);
+	}
+
+	@DeleteMapping("/{id}")
+	public ResponseEntity<Void> deleteStudent(@PathVariable Integer id) {
+		log.info("API deleting student id={}", id);
+		studentService.deleteStudent(id);
+		return ResponseEntity.noContent().build();
+	}
+
+	/**
+	 * Deletes several students at once and reports ids that did not exist. More
+	 * than {@code app.api.max-delete-batch-size} ids are refused with 400.
+	 */
+	@DeleteMapping
+	public ResponseEntity<Object> deleteStudents(@RequestParam List<Integer> ids) {
+		log.info("API bulk deleting {} students", ids.size());
+		if (ids.size() > maxDeleteBatch) {
+			log.warn("Bulk delete of {} ids exceeds limit {}", ids.size(), maxDeleteBatch);
+			return ResponseEntity.badRequest().body(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST,
+					"At most " + maxDeleteBatch + " ids can be deleted at once"));
+		}
+		return ResponseEntity.ok(studentService.deleteStudents(ids));
+	}
+
+	private int pageSize(Integer requested) {
+		if (requested == null || requested < 1)
+			return defaultPageSize;
+		return Math.min(requested, maxPageSize);
+	}
+
+	private static String etag(Integer id, Long version) {
+		return "\"" + id + "-" + version + "\"";
+	}
+
+	private static ResponseEntity<Object> versioned(Integer id, long version) {
+		return ResponseEntity.ok().eTag(etag(id, version)).body(Map.of("id", id, "version", version));
+	}
+}
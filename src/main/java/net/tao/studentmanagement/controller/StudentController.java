@@ -1,10 +1,22 @@
 package net.tao.studentmanagement.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.propertyeditors.StringTrimmerEditor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -13,20 +25,43 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.RequestContextUtils;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.tao.studentmanagement.controller.support.StudentFragmentCache;
+import net.tao.studentmanagement.controller.support.StudentFragmentCache.Fragments;
+import net.tao.studentmanagement.controller.support.StudentFragmentCache.Key;
+import net.tao.studentmanagement.dto.BulkDeleteResult;
+import net.tao.studentmanagement.dto.CursorPage;
+import net.tao.studentmanagement.dto.ImportReport;
+import net.tao.studentmanagement.dto.StudentPosition;
+import net.tao.studentmanagement.dto.PageResult;
 import net.tao.studentmanagement.dto.StudentRequestDto;
 import net.tao.studentmanagement.dto.StudentResponseDto;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
+import net.tao.studentmanagement.exception.ResourceNotFoundException;
+import net.tao.studentmanagement.service.ExportFormat;
+import net.tao.studentmanagement.service.StudentExportService;
+import net.tao.studentmanagement.service.StudentImportService;
 import net.tao.studentmanagement.service.StudentService;
+import net.tao.studentmanagement.service.support.StudentChanges;
+import net.tao.studentmanagement.service.support.StudentDataVersion;
+import net.tao.studentmanagement.service.support.StudentPatchReader;
+import net.tao.studentmanagement.service.support.StudentPatchReader.Patch;
 
 @Slf4j
 @Controller
@@ -37,71 +72,184 @@ public class StudentController {
 	private static final String SUCCESS_MESSAGE = "successMessage";
 	private static final String TITLE = "title";
 	private static final String REDIRECT_PAGED_URL = "redirect:/students/list?page=";
+	private static final String KEYSET_MODE = "keyset";
+	private static final String ERROR_MESSAGE = "errorMessage";
+	private static final String VERSION = "version";
+	private static final String LIST_CONTENT_VIEW = "students/list :: content";
+	private static final String AJAX_HEADER = "X-Requested-With=XMLHttpRequest";
+	private static final String SUCCESS_MESSAGE_HEADER = "X-Success-Message";
 	
 	@Value("${app.pagination.default-size}")
 	private int defaultSize;
+
+	@Value("${app.pagination.window:2}")
+	private int pageWindow;
+
+	@Value("${app.details.max-batch-size:100}")
+	private int maxDetailsBatch;
 	
 	private final StudentService studentService;
+	private final StudentImportService importService;
+	private final StudentExportService exportService;
+	private final StudentDataVersion dataVersion;
+	private final StudentPatchReader patchReader;
+	private final StudentFragmentCache fragmentCache;
 
 	/**
 	 * Displays the student list with pagination and optional keyword search.
 	 *
+	 * When {@code mode=keyset} is requested for an unfiltered list sorted by id or
+	 * name, the page is located by an opaque cursor instead of a page number, so
+	 * deep pages cost the same as the first one.
+	 *
+	 * The page carries a weak ETag derived from the table-wide data version; a
+	 * matching {@code If-None-Match} is answered with 304 before any query runs.
+	 * Responses that show a flash message are not tagged, as they differ from a
+	 * plain reload of the same URL.
+	 *
+	 * The table and pager HTML come from {@link StudentFragmentCache} when the
+	 * same list was rendered since the last change, skipping the queries too.
+	 * While a read replica may still lack the last change, pages are neither
+	 * tagged nor cached (see {@link StudentDataVersion#isSettled()}).
+	 *
+	 * The pager links only the first and last page and the pages around the
+	 * current one (see {@code app.pagination.window}), plus a jump-to-page
+	 * field, so its size does not grow with the table.
+	 *
 	 * @param page    Current page number (0-based)
+	 * @param jump    Page number typed into the jump-to-page field (1-based);
+	 *                overrides {@code page}
 	 * @param size    Number of records per page
 	 * @param keyword Optional search text for filtering by name/id
+	 * @param mode    "offset" (numbered pages) or "keyset" (cursor pages)
+	 * @param cursor  Opaque keyset cursor from a previous page
+	 * @param highlight Optional student ID whose row is highlighted
 	 * @param model   Spring Model to pass UI attributes
 	 * @return Thymeleaf view for listing students
 	 */
 	@GetMapping("/list")
 	public String listStudents(@RequestParam(defaultValue = "0") int page, @RequestParam(required = false) Integer size,
 			@RequestParam(defaultValue = "") String keyword, @RequestParam(defaultValue = "id") String sortField,
-			@RequestParam(defaultValue = "asc") String sortDir, Model model) {
-		log.info("Listing students: page={}, size={}, keyword='{}', sortField='{}', sortDir='{}'", page, size, keyword,
-				sortField, sortDir);
+			@RequestParam(defaultValue = "asc") String sortDir, @RequestParam(defaultValue = "offset") String mode,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer highlight,
+			@RequestParam(required = false) Integer jump, Model model, ServletWebRequest webRequest) {
+		log.info("Listing students: page={}, size={}, keyword='{}', sortField='{}', sortDir='{}', mode='{}'", page,
+				size, keyword, sortField, sortDir, mode);
+		if (RequestContextUtils.getInputFlashMap(webRequest.getRequest()) == null && dataVersion.isSettled()
+				&& notModified(webRequest, "W/\"" + dataVersion.current() + "\"")) {
+			log.info("Student list not modified");
+			return null;
+		}
+		if (jump != null)
+			page = jump - 1;
+		populateList(page, size, keyword, sortField, sortDir, mode, cursor, highlight, model, webRequest);
+		return "students/list";
+	}
+
+	/**
+	 * Returns only the table, pager and "no results" message of the student
+	 * list, for the same parameters as {@link #listStudents}. Lets the page
+	 * refresh its list without reloading the layout.
+	 *
+	 * @return the {@code content} fragment of the list view
+	 */
+	@GetMapping("/list/content")
+	public String listContent(@RequestParam(defaultValue = "0") int page, @RequestParam(required = false) Integer size,
+			@RequestParam(defaultValue = "") String keyword, @RequestParam(defaultValue = "id") String sortField,
+			@RequestParam(defaultValue = "asc") String sortDir, @RequestParam(defaultValue = "offset") String mode,
+			@RequestParam(required = false) String cursor, Model model, ServletWebRequest webRequest) {
+		if (dataVersion.isSettled() && notModified(webRequest, "W/\"" + dataVersion.current() + "\""))
+			return null;
+		populateList(page, size, keyword, sortField, sortDir, mode, cursor, null, model, webRequest);
+		return LIST_CONTENT_VIEW;
+	}
+
+	/**
+	 * Fills the model for one page of the student list: the rows (or their
+	 * cached HTML), paging state and the current sort.
+	 */
+	private void populateList(int page, Integer size, String keyword, String sortField, String sortDir, String mode,
+			String cursor, Integer highlight, Model model, ServletWebRequest webRequest) {
 		if (page < 0)
 			page = 0;
 		if(size == null)
 			size = defaultSize;
 
 		boolean hasSearch = keyword != null && !keyword.isBlank();
+		boolean keyset = KEYSET_MODE.equals(mode) && !hasSearch
+				&& (sortField.equals("id") || sortField.equals("name"));
+
+		model.addAttribute("size", size);
+		model.addAttribute("keyword", keyword);
+		model.addAttribute("sortField", sortField);
+		model.addAttribute("sortDir", sortDir);
+		model.addAttribute("reverseSort", sortDir.equals("asc") ? "desc" : "asc");
+		model.addAttribute("keyset", keyset);
+		model.addAttribute("highlight", highlight);
+		model.addAttribute("mode", keyset ? KEYSET_MODE : "offset");
+		model.addAttribute(TITLE, "List Student");
 
-		List<StudentResponseDto> students;
-		long total;
+		// a highlighted row makes the table one-off; render it normally
+		Key key = highlight == null && dataVersion.isSettled()
+				? new Key(page, size, keyword, sortField, sortDir, keyset ? KEYSET_MODE : "offset",
+						keyset ? cursor : null, dataVersion.current())
+				: null;
+		Fragments cached = key == null ? null : fragmentCache.get(key);
+		if (cached != null) {
+			log.info("Serving cached student table");
+			addFragments(model, cached);
+			return;
+		}
 
-		if (hasSearch) {
-			log.info("Searching students with keyword='{}'", keyword);
-			students = studentService.searchStudentsSorted(keyword, page, size, sortField, sortDir);
-			total = studentService.countSearchResults(keyword);
+		List<StudentSummaryDto> students;
+		if (keyset) {
+			log.info("Fetching keyset page of students");
+			CursorPage<StudentSummaryDto> slice = studentService.getStudentsKeyset(cursor, size, sortField, sortDir);
+			students = slice.getContent();
+			model.addAttribute("nextCursor", slice.getNextCursor());
+			model.addAttribute("prevCursor", slice.getPrevCursor());
+			model.addAttribute("currentPage", 0);
+			model.addAttribute("totalPages", 0);
 		} else {
-			log.info("Fetching paginated sorted students");
-			students = studentService.getStudentsPaginatedSorted(page, size, sortField, sortDir);
-			total = studentService.getTotalCount();
-		}
+			if (hasSearch)
+				log.info("Searching students with keyword='{}'", keyword);
+			else
+				log.info("Fetching paginated sorted students");
 
-		int totalPages = (int) Math.ceil((double) total / size);
+			PageResult<StudentSummaryDto> result = studentService.getStudentPage(hasSearch ? keyword : null, page,
+					size, sortField, sortDir);
 
-		if (totalPages > 0 && page >= totalPages) {
-			log.info("Page {} out of range. Resetting to last page {}", page, totalPages - 1);
-			page = totalPages - 1;
+			if (result.getPage() != page)
+				log.info("Page {} out of range. Reset to last page {}", page, result.getPage());
 
-			if (hasSearch) {
-				students = studentService.searchStudentsSorted(keyword, page, size, sortField, sortDir);
-			} else {
-				students = studentService.getStudentsPaginatedSorted(page, size, sortField, sortDir);
-			}
+			students = result.getContent();
+			model.addAttribute("currentPage", result.getPage());
+			model.addAttribute("totalPages", result.getTotalPages());
+			addPageWindow(model, result.getPage(), result.getTotalPages());
 		}
-
 		model.addAttribute("students", students);
-		model.addAttribute("currentPage", page);
-		model.addAttribute("totalPages", totalPages);
-		model.addAttribute("size", size);
-		model.addAttribute("keyword", keyword);
-		model.addAttribute("sortField", sortField);
-		model.addAttribute("sortDir", sortDir);
-		model.addAttribute("reverseSort", sortDir.equals("asc") ? "desc" : "asc");
-		model.addAttribute(TITLE, "List Student");
+		model.addAttribute("hasStudents", !students.isEmpty());
 
-		return "students/list";
+		if (key != null)
+			addFragments(model, fragmentCache.render(key, model.asMap(), webRequest.getRequest(),
+					webRequest.getResponse()));
+	}
+
+	/**
+	 * Adds the range of page numbers the pager links individually: up to
+	 * {@code pageWindow} pages either side of the current one.
+	 */
+	private void addPageWindow(Model model, int currentPage, int totalPages) {
+		model.addAttribute("windowStart", Math.max(0, currentPage - pageWindow));
+		model.addAttribute("windowEnd", Math.max(0, Math.min(totalPages - 1, currentPage + pageWindow)));
+	}
+
+	private static void addFragments(Model model, Fragments fragments) {
+		model.addAttribute("tableHtml", fragments.table());
+		model.addAttribute("paginationHtml", fragments.pagination());
+		model.addAttribute("currentPage", fragments.currentPage());
+		model.addAttribute("totalPages", fragments.totalPages());
+		model.addAttribute("hasStudents", fragments.hasStudents());
 	}
 
 	/**
@@ -111,11 +259,15 @@ public class StudentController {
 	 * @return create-student view
 	 */
 	@GetMapping("/new")
-	public String showCreateForm(@RequestParam int size, @RequestParam int page, Model model) {
+	public String showCreateForm(@RequestParam int size, @RequestParam int page,
+			@RequestParam(defaultValue = "id") String sortField, @RequestParam(defaultValue = "asc") String sortDir,
+			Model model) {
 		log.info("Displaying create student form");
 		model.addAttribute(TITLE, "Create Student");
 		model.addAttribute("size", size);
 		model.addAttribute("page", page);
+		model.addAttribute("sortField", sortField);
+		model.addAttribute("sortDir", sortDir);
 		model.addAttribute("student", new StudentRequestDto());
 		return "students/create";
 	}
@@ -123,6 +275,11 @@ public class StudentController {
 	/**
 	 * Handles submission of the Create Student form.
 	 *
+	 * Redirects to the page of the list (in the sort order the user came from,
+	 * or id order for a dob sort) that holds the new student, and highlights its
+	 * row. The page is derived from the position returned by the service,
+	 * without counting rows.
+	 *
 	 * @param dto    StudentRequestDto with input data
 	 * @param result Validation results
 	 * @param ra     RedirectAttributes for success message
@@ -130,7 +287,8 @@ public class StudentController {
 	 */
 	@PostMapping
 	public String createStudent(@Valid @ModelAttribute("student") StudentRequestDto dto, BindingResult result,
-			@RequestParam int size, Model model, RedirectAttributes ra) {
+			@RequestParam int size, @RequestParam(defaultValue = "id") String sortField,
+			@RequestParam(defaultValue = "asc") String sortDir, Model model, RedirectAttributes ra) {
 
 		log.info("Creating new student: {}", dto.getName());
 
@@ -138,16 +296,58 @@ public class StudentController {
 			log.warn("Create student validation failed");
 			model.addAttribute("page", 0);
 			model.addAttribute("size", size);
+			model.addAttribute("sortField", sortField);
+			model.addAttribute("sortDir", sortDir);
 			return "students/create";
 		}
 
-		studentService.createStudent(dto);
-		var total = studentService.getTotalCount();
-
-		int page = (int) Math.ceil((double) total / size) - 1;
+		StudentPosition position = studentService.createStudent(dto, size, sortField, sortDir);
 		ra.addFlashAttribute(SUCCESS_MESSAGE, "Student created successfully!");
 
-		return REDIRECT_PAGED_URL + page;
+		ra.addAttribute("page", position.getPage());
+		ra.addAttribute("size", size);
+		ra.addAttribute("sortField", position.getSortField());
+		ra.addAttribute("sortDir", sortDir);
+		ra.addAttribute("highlight", position.getStudent().getId());
+		return "redirect:/students/list";
+	}
+
+	/**
+	 * Bulk-imports students from an uploaded CSV file. The first line must name
+	 * the columns (name, address, gender, dob, email, mobile, phone); only name
+	 * is required.
+	 *
+	 * @param file CSV upload
+	 * @return import report with per-row errors, as JSON
+	 */
+	@PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	@ResponseBody
+	public ImportReport importStudents(@RequestParam("file") MultipartFile file) throws IOException {
+		log.info("Importing students from '{}' ({} bytes)", file.getOriginalFilename(), file.getSize());
+		try (InputStream csv = file.getInputStream()) {
+			return importService.importCsv(csv);
+		}
+	}
+
+	/**
+	 * Downloads all students as CSV or NDJSON. The body is written on an async
+	 * thread while rows are read, so nothing is buffered in full.
+	 *
+	 * @param format "csv" (default) or "ndjson"
+	 * @return streaming attachment response
+	 */
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "csv") String format) {
+		ExportFormat exportFormat = ExportFormat.from(format);
+		log.info("Exporting students as {}", exportFormat);
+
+		StreamingResponseBody body = out -> exportService.export(exportFormat, out);
+		return ResponseEntity.ok()
+				.contentType(exportFormat.getMediaType())
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						ContentDisposition.attachment().filename("students." + exportFormat.getExtension()).build()
+								.toString())
+				.body(body);
 	}
 
 	/**
@@ -163,6 +363,7 @@ public class StudentController {
 		StudentResponseDto existing = studentService.getStudentById(id);
 
 		StudentRequestDto dto = convertToRequestDto(existing);
+		dto.setOriginal(convertToRequestDto(existing));
 
 		model.addAttribute("student", dto);
 		model.addAttribute("id", id);
@@ -176,6 +377,11 @@ public class StudentController {
 	/**
 	 * Handles student update operation.
 	 *
+	 * When the form carries the row version and the values it was rendered
+	 * from, only the fields the user changed are written, in one
+	 * version-checked UPDATE; the row is not read first. A concurrent change is
+	 * reported instead of being overwritten.
+	 *
 	 * @param id     Student ID to update
 	 * @param dto    Updated student input
 	 * @param result Validation results
@@ -196,12 +402,56 @@ public class StudentController {
 			return "students/edit";
 		}
 
-		studentService.updateStudent(id, dto);
+		if (dto.getVersion() == null || dto.getOriginal() == null) {
+			studentService.updateStudent(id, dto);
+		} else {
+			// diff against what the form showed and write only what was changed
+			Set<String> changed = StudentChanges.between(dto.getOriginal(), dto);
+			try {
+				studentService.patchStudent(id, dto.getVersion(), dto, changed);
+			} catch (ObjectOptimisticLockingFailureException e) {
+				ra.addFlashAttribute(ERROR_MESSAGE,
+						"Student was changed by someone else in the meantime. Please reopen it and try again.");
+				return REDIRECT_PAGED_URL + page;
+			}
+		}
 		ra.addFlashAttribute(SUCCESS_MESSAGE, "Student updated successfully!");
 
 		return REDIRECT_PAGED_URL + page;
 	}
 
+	/**
+	 * Partially updates a student from a JSON object holding the fields to
+	 * change plus the {@code version} they are based on, e.g.
+	 * {@code {"version": 3, "mobile": "0123456789"}}. A field set to null is
+	 * cleared.
+	 *
+	 * @param id   Student ID to update
+	 * @param body changed fields and the expected version
+	 * @return new id and version (also sent as ETag); 400 for invalid fields, 404
+	 *         for an unknown student, 409 when the version is stale
+	 */
+	@PatchMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public ResponseEntity<Map<String, Object>> patchStudent(@PathVariable Integer id,
+			@RequestBody Map<String, Object> body) {
+		log.info("Patching student id={} fields={}", id, body.keySet());
+		Patch patch = patchReader.read(body);
+		if (!patch.isValid())
+			return ResponseEntity.badRequest().body(new LinkedHashMap<>(patch.errors()));
+
+		try {
+			long newVersion = studentService.patchStudent(id, patch.version(), patch.values(), patch.fields());
+			return ResponseEntity.ok().eTag("\"" + id + "-" + newVersion + "\"")
+					.body(Map.of("id", id, VERSION, newVersion));
+		} catch (ResourceNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+		} catch (ObjectOptimisticLockingFailureException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT)
+					.body(Map.of(VERSION, "Student was changed by someone else"));
+		}
+	}
+
 	/**
 	 * Deletes a student by ID.
 	 *
@@ -219,17 +469,139 @@ public class StudentController {
 		return REDIRECT_PAGED_URL + page;
 	}
 
+	/**
+	 * Deletes the students selected in the list in one request.
+	 *
+	 * @param ids  Student IDs to delete
+	 * @param page Page to return to
+	 * @param ra   RedirectAttributes for the result message
+	 * @return redirect to student list
+	 */
+	@DeleteMapping("/delete")
+	public String deleteStudents(@RequestParam(required = false) List<Integer> ids,
+			@RequestParam(defaultValue = "0") int page, RedirectAttributes ra) {
+		if (ids == null || ids.isEmpty()) {
+			ra.addFlashAttribute(ERROR_MESSAGE, "No students selected.");
+			return REDIRECT_PAGED_URL + page;
+		}
+
+		log.info("Bulk deleting {} students", ids.size());
+		ra.addFlashAttribute(SUCCESS_MESSAGE, bulkDeleteMessage(studentService.deleteStudents(ids)));
+
+		return REDIRECT_PAGED_URL + page;
+	}
+
+	/**
+	 * Deletes a student from the list page via AJAX. Instead of redirecting,
+	 * responds with the refreshed list content for the given list parameters;
+	 * the message for the toast is sent in the {@code X-Success-Message} header.
+	 *
+	 * @param id Student ID to delete
+	 * @return the {@code content} fragment of the list view
+	 */
+	@DeleteMapping(value = "/{id}/delete", headers = AJAX_HEADER)
+	public String deleteStudentInline(@PathVariable Integer id, @RequestParam(defaultValue = "0") int page,
+			@RequestParam(required = false) Integer size, @RequestParam(defaultValue = "") String keyword,
+			@RequestParam(defaultValue = "id") String sortField, @RequestParam(defaultValue = "asc") String sortDir,
+			@RequestParam(defaultValue = "offset") String mode, @RequestParam(required = false) String cursor,
+			Model model, ServletWebRequest webRequest) {
+		log.info("Deleting student id={} (inline)", id);
+		studentService.deleteStudent(id);
+		webRequest.getResponse().setHeader(SUCCESS_MESSAGE_HEADER, "Student deleted successfully!");
+
+		populateList(page, size, keyword, sortField, sortDir, mode, cursor, null, model, webRequest);
+		return LIST_CONTENT_VIEW;
+	}
+
+	/**
+	 * Deletes the selected students via AJAX and responds with the refreshed
+	 * list content, like {@link #deleteStudentInline}.
+	 *
+	 * @param ids Student IDs to delete
+	 * @return the {@code content} fragment of the list view
+	 */
+	@DeleteMapping(value = "/delete", headers = AJAX_HEADER)
+	public String deleteStudentsInline(@RequestParam(required = false) List<Integer> ids,
+			@RequestParam(defaultValue = "0") int page, @RequestParam(required = false) Integer size,
+			@RequestParam(defaultValue = "") String keyword, @RequestParam(defaultValue = "id") String sortField,
+			@RequestParam(defaultValue = "asc") String sortDir, @RequestParam(defaultValue = "offset") String mode,
+			@RequestParam(required = false) String cursor, Model model, ServletWebRequest webRequest) {
+		if (ids != null && !ids.isEmpty()) {
+			log.info("Bulk deleting {} students (inline)", ids.size());
+			String message = bulkDeleteMessage(studentService.deleteStudents(ids));
+			webRequest.getResponse().setHeader(SUCCESS_MESSAGE_HEADER, message);
+		}
+
+		populateList(page, size, keyword, sortField, sortDir, mode, cursor, null, model, webRequest);
+		return LIST_CONTENT_VIEW;
+	}
+
+	private static String bulkDeleteMessage(BulkDeleteResult result) {
+		String message = result.getDeleted().size() + " student(s) deleted.";
+		if (!result.getMissing().isEmpty())
+			message += " " + result.getMissing().size() + " no longer existed.";
+		return message;
+	}
+
 	/**
 	 * Returns student details in JSON format (used for View Modal).
 	 *
+	 * The response carries a strong ETag built from the id and row version. A
+	 * request with {@code If-None-Match} is first checked against the version
+	 * alone (cached, or one column by primary key), so a 304 neither loads nor
+	 * maps the student. Should the student change between that check and the
+	 * load, the body carries the newer version and its own ETag.
+	 *
 	 * @param id Student ID
-	 * @return StudentResponseDto serialized as JSON
+	 * @return StudentResponseDto serialized as JSON, or null when not modified
 	 */
 	@GetMapping("/{id}/details")
 	@ResponseBody
-	public StudentResponseDto getStudentDetails(@PathVariable Integer id) {
+	public StudentResponseDto getStudentDetails(@PathVariable Integer id, ServletWebRequest webRequest) {
 		log.info("Fetching details for student id={}", id);
-		return studentService.getStudentById(id);
+		if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+				&& notModified(webRequest, detailsEtag(id, studentService.getStudentVersion(id))))
+			return null;
+		StudentResponseDto student = studentService.getStudentById(id);
+		if (webRequest.getResponse() != null) {
+			webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+			webRequest.getResponse().setHeader(HttpHeaders.ETAG, detailsEtag(id, student.getVersion()));
+		}
+		return student;
+	}
+
+	/**
+	 * Returns the details of several students in one request, in the order the
+	 * ids are given (used to prefetch the View Modal data of a list page).
+	 * Unknown ids are left out.
+	 *
+	 * @param ids Student IDs, e.g. {@code ids=1,2,3}
+	 * @return list of StudentResponseDto as JSON; 400 when more than
+	 *         {@code app.details.max-batch-size} ids are requested
+	 */
+	@GetMapping("/details")
+	@ResponseBody
+	public ResponseEntity<List<StudentResponseDto>> getStudentDetailsBatch(@RequestParam List<Integer> ids) {
+		log.info("Fetching details for {} students", ids.size());
+		if (ids.size() > maxDetailsBatch) {
+			log.warn("Details batch of {} ids exceeds limit {}", ids.size(), maxDetailsBatch);
+			return ResponseEntity.badRequest().build();
+		}
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(studentService.getStudentsByIds(ids));
+	}
+
+	private static String detailsEtag(Integer id, Long version) {
+		return "\"" + id + "-" + version + "\"";
+	}
+
+	/**
+	 * Marks the response for revalidation on every use and checks the ETag
+	 * against If-None-Match. When true, the status is already set to 304.
+	 */
+	private boolean notModified(ServletWebRequest webRequest, String etag) {
+		if (webRequest.getResponse() != null)
+			webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+		return webRequest.checkNotModified(etag);
 	}
 
 	private StudentRequestDto convertToRequestDto(StudentResponseDto res) {
@@ -242,6 +614,7 @@ public class StudentController {
 		dto.setEmail(res.getEmail());
 		dto.setMobile(res.getMobile());
 		dto.setPhone(res.getPhone());
+		dto.setVersion(res.getVersion());
 		return dto;
 	}
 	
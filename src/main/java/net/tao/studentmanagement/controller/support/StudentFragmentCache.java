@@ -0,0 +1,132 @@
+package net.tao.studentmanagement.controller.support;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import net.tao.studentmanagement.event.StudentChangedEvent;
+
+/**
+ * Rendered HTML of the student table and pager, so repeated list requests with
+ * the same parameters skip both the queries and the template work.
+ *
+ * Keys include the table data version, and the whole cache is dropped when a
+ * change commits, so a stale page is never served. Size is bounded by the
+ * total length of the cached HTML ({@code app.view.fragment-cache.max-size}).
+ */
+@Component
+public class StudentFragmentCache {
+
+	public static final String TABLE_VIEW = "fragments/table :: table";
+	public static final String PAGINATION_VIEW = "fragments/pagination :: pagination";
+
+	/** Everything the table and pager output depends on besides the rows. */
+	public record Key(int page, int size, String keyword, String sortField, String sortDir, String mode,
+			String cursor, long dataVersion) {
+	}
+
+	/** Rendered fragments plus the values list.html still needs around them. */
+	public record Fragments(String table, String pagination, int currentPage, int totalPages, boolean hasStudents) {
+
+		int weight() {
+			// compact strings store this HTML as Latin-1 or UTF-16; length is a fair byte estimate
+			return table.length() + pagination.length();
+		}
+	}
+
+	private final ViewResolver viewResolver;
+	private final Cache<Key, Fragments> cache;
+
+	public StudentFragmentCache(@Qualifier("thymeleafViewResolver") ViewResolver viewResolver,
+			@Value("${app.view.fragment-cache.max-size:16MB}") DataSize maxSize,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this.viewResolver = viewResolver;
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(maxSize.toBytes())
+				.weigher((Key key, Fragments fragments) -> fragments.weight())
+				.recordStats()
+				.build();
+		// same tag keys as the cache meters Actuator binds, which Prometheus requires
+		meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "studentFragments",
+				Tags.of("cache.manager", "studentFragmentCache", "name", "studentFragments")));
+	}
+
+	public Fragments get(Key key) {
+		return cache.getIfPresent(key);
+	}
+
+	/**
+	 * Renders the table and pager for {@code model} and caches them under
+	 * {@code key}. The response is only used for headers; the HTML is returned.
+	 */
+	public Fragments render(Key key, Map<String, Object> model, HttpServletRequest request,
+			HttpServletResponse response) {
+		String table = render(TABLE_VIEW, model, request, response);
+		String pagination = render(PAGINATION_VIEW, model, request, response);
+		Fragments fragments = new Fragments(table, pagination, (Integer) model.get("currentPage"),
+				(Integer) model.get("totalPages"), !((List<?>) model.get("students")).isEmpty());
+		cache.put(key, fragments);
+		return fragments;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStudentChanged(StudentChangedEvent event) {
+		clear();
+	}
+
+	public void clear() {
+		cache.invalidateAll();
+	}
+
+	private String render(String viewName, Map<String, Object> model, HttpServletRequest request,
+			HttpServletResponse response) {
+		StringWriter html = new StringWriter(8192);
+		try {
+			View view = viewResolver.resolveViewName(viewName, Locale.getDefault());
+			if (view == null)
+				throw new IllegalStateException("No view for " + viewName);
+			view.render(model, request, new CapturingResponse(response, html));
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException("Rendering " + viewName + " failed", e);
+		}
+		return html.toString();
+	}
+
+	/** Sends the view's output to a string instead of the client. */
+	private static final class CapturingResponse extends HttpServletResponseWrapper {
+
+		private final PrintWriter writer;
+
+		CapturingResponse(HttpServletResponse response, StringWriter html) {
+			super(response);
+			this.writer = new PrintWriter(html);
+		}
+
+		@Override
+		public PrintWriter getWriter() {
+			return writer;
+		}
+	}
+}
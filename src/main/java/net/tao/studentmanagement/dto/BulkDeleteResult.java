@@ -0,0 +1,13 @@
+package net.tao.studentmanagement.dto;
+
+import java.util.List;
+
+import lombok.Value;
+
+/** Outcome of a bulk delete: ids that were removed and ids that did not exist. */
+@Value
+public class BulkDeleteResult {
+
+	List<Integer> deleted;
+	List<Integer> missing;
+}
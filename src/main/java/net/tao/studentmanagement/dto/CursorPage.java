@@ -0,0 +1,27 @@
+package net.tao.studentmanagement.dto;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * One slice of a keyset-paginated listing. Cursors are opaque tokens that the
+ * client hands back unchanged to move to the next or previous slice; a null
+ * cursor means there is nothing further in that direction.
+ */
+@Value
+public class CursorPage<T> {
+
+	List<T> content;
+	String nextCursor;
+	String prevCursor;
+	int size;
+
+	public boolean hasNext() {
+		return nextCursor != null;
+	}
+
+	public boolean hasPrevious() {
+		return prevCursor != null;
+	}
+}
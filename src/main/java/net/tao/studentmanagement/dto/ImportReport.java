@@ -0,0 +1,26 @@
+package net.tao.studentmanagement.dto;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Outcome of a bulk CSV import. Rows are counted by data line; {@code errors}
+ * lists the rejected rows by their line number in the file (header = line 1),
+ * capped so a badly broken file does not produce an unbounded response.
+ */
+@Value
+public class ImportReport {
+
+	int totalRows;
+	int imported;
+	int failed;
+	List<RowError> errors;
+	boolean errorsTruncated;
+
+	@Value
+	public static class RowError {
+		long line;
+		List<String> messages;
+	}
+}
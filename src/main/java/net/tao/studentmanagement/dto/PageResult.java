@@ -0,0 +1,24 @@
+package net.tao.studentmanagement.dto;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * One page of rows together with the total number of matching rows.
+ *
+ * {@code page} is the page actually returned, which may be lower than the one
+ * requested when the request pointed past the last page.
+ */
+@Value
+public class PageResult<T> {
+
+	List<T> content;
+	int page;
+	int size;
+	long totalElements;
+
+	public int getTotalPages() {
+		return (int) Math.ceil((double) totalElements / size);
+	}
+}
@@ -0,0 +1,19 @@
+package net.tao.studentmanagement.dto;
+
+import lombok.Value;
+
+/** A newly created student and where it lands in the list for a given sort and page size. */
+@Value
+public class StudentPosition {
+
+	StudentResponseDto student;
+
+	/** Sort the position holds for; may differ from the one asked for. */
+	String sortField;
+
+	/** Zero-based position in the full, unfiltered list. */
+	long ordinal;
+
+	/** Zero-based page containing the student. */
+	int page;
+}
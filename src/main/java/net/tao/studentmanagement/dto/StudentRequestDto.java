@@ -34,4 +34,11 @@ public class StudentRequestDto {
 
     @Size(max = 15)
     private String phone;
+
+    // row version the edit form was rendered from; null for new students
+    private Long version;
+
+    // values the edit form was rendered with, posted back as original.*, so an
+    // update can write just the fields the user changed without reading the row
+    private StudentRequestDto original;
 }
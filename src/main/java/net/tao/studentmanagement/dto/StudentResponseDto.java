@@ -13,4 +13,5 @@ public class StudentResponseDto {
     private String email;
     private String mobile;
     private String phone;
+    private Long version;
 }
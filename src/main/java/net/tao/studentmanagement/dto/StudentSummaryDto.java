@@ -0,0 +1,31 @@
+package net.tao.studentmanagement.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+/**
+ * Read-only row of the student table. Built directly from query results by a
+ * constructor expression, so list pages neither hydrate managed entities nor
+ * copy them through the mapper. Carries only the columns the table renders.
+ */
+@Value
+public class StudentSummaryDto {
+
+    Integer id;
+    String name;
+    String gender;
+    String dob;     // formatted as yyyy-MM-dd
+    String email;
+    String mobile;
+
+    public StudentSummaryDto(Integer id, String name, String gender, LocalDateTime dob, String email,
+            String mobile) {
+        this.id = id;
+        this.name = name;
+        this.gender = gender;
+        this.dob = dob == null ? null : dob.toLocalDate().toString();
+        this.email = email;
+        this.mobile = mobile;
+    }
+}
@@ -0,0 +1,43 @@
+package net.tao.studentmanagement.event;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * Published by the service layer whenever student rows are created, updated or
+ * deleted. Listeners that keep derived state (counts, indexes, caches) react
+ * to it after the surrounding transaction commits, so a rollback never leaks
+ * into that state.
+ */
+@Value
+public class StudentChangedEvent {
+
+	public enum Type {
+		CREATED, UPDATED, DELETED
+	}
+
+	Type type;
+	List<Integer> ids;
+
+	/** New names by id; absent when the name did not change or the row is gone. */
+	Map<Integer, String> names;
+
+	public static StudentChangedEvent created(Map<Integer, String> names) {
+		return new StudentChangedEvent(Type.CREATED, List.copyOf(names.keySet()), names);
+	}
+
+	public static StudentChangedEvent created(Integer id, String name) {
+		return new StudentChangedEvent(Type.CREATED, List.of(id), Map.of(id, name));
+	}
+
+	public static StudentChangedEvent updated(Integer id, String name) {
+		return new StudentChangedEvent(Type.UPDATED, List.of(id), name == null ? Map.of() : Map.of(id, name));
+	}
+
+	public static StudentChangedEvent deleted(List<Integer> ids) {
+		return new StudentChangedEvent(Type.DELETED, List.copyOf(ids), Collections.emptyMap());
+	}
+}
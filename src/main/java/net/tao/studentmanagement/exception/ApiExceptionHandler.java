@@ -0,0 +1,76 @@
+package net.tao.studentmanagement.exception;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import lombok.extern.slf4j.Slf4j;
+import net.tao.studentmanagement.controller.StudentApiController;
+
+/**
+ * Error responses for the JSON API. Runs before {@link GlobalExceptionHandler}
+ * so API clients get problem details instead of HTML error pages or redirects.
+ */
+@Slf4j
+@RestControllerAdvice(assignableTypes = StudentApiController.class)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ApiExceptionHandler {
+
+	/**
+	 * Bean validation failures on a request body, listed per field.
+	 */
+	@ExceptionHandler(MethodArgumentNotValidException.class)
+	public ProblemDetail handleValidationErrors(MethodArgumentNotValidException ex) {
+		Map<String, String> errors = new LinkedHashMap<>();
+		for (FieldError fe : ex.getBindingResult().getFieldErrors())
+			errors.putIfAbsent(fe.getField(), fe.getDefaultMessage());
+
+		ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, "Validation failed");
+		problem.setProperty("errors", errors);
+		return problem;
+	}
+
+	@ExceptionHandler(ResourceNotFoundException.class)
+	public ProblemDetail handleResourceNotFound(ResourceNotFoundException ex) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+	}
+
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ProblemDetail handleConflict(ObjectOptimisticLockingFailureException ex) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+				"Student was changed by someone else; fetch it again and retry");
+	}
+
+	/**
+	 * Malformed input: unreadable JSON, bad parameter types, unknown sort
+	 * fields and similar.
+	 */
+	@ExceptionHandler({ IllegalArgumentException.class, InvalidDataAccessApiUsageException.class,
+			HttpMessageNotReadableException.class, MethodArgumentTypeMismatchException.class,
+			MissingServletRequestParameterException.class })
+	public ProblemDetail handleBadRequest(Exception ex) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+	}
+
+	/**
+	 * Anything else; details stay in the log rather than the response.
+	 */
+	@ExceptionHandler(Exception.class)
+	public ProblemDetail handleUnexpected(Exception ex) {
+		log.error("Unhandled API error", ex);
+		return ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error");
+	}
+}
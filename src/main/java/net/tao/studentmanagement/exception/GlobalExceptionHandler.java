@@ -44,6 +44,17 @@ public class GlobalExceptionHandler {
         return "error/not-found"; 
     }
 
+    /**
+     * Handles requests carrying an unsupported value, such as an unknown sort
+     * field, with a 400 and the general error page.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleIllegalArgument(IllegalArgumentException ex, Model model) {
+        model.addAttribute("message", "Invalid request: " + ex.getMessage());
+        return "error/general-error";
+    }
+
     /**
      * Catches any unexpected system-level exception that isn't handled
      * by other handlers. Displays a generic error page to prevent exposing
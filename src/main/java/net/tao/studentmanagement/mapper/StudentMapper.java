@@ -20,10 +20,11 @@ public interface StudentMapper {
      * Converts the StudentRequestDto (input from UI/API)
      * into a Student entity for INSERT operations.
      *
-     * - Ignores ID because it is auto-generated.
+     * - Ignores ID and version because they are generated.
      * - Converts LocalDate → LocalDateTime for DB storage.
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "dob", expression = "java(convertToDateTime(dto.getDob()))")
     Student toEntity(StudentRequestDto dto);
 
@@ -42,11 +43,12 @@ public interface StudentMapper {
      * of StudentRequestDto.
      *
      * - Performs PATCH-style update: null values are ignored.
-     * - Prevents ID overwrite by ignoring it.
+     * - Prevents ID and version overwrite by ignoring them.
      * - Converts LocalDate → LocalDateTime.
      */
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true) 
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "dob", expression = "java(convertToDateTime(dto.getDob()))")
     void updateEntityFromDto(StudentRequestDto dto, @MappingTarget Student entity);
 
@@ -0,0 +1,31 @@
+package net.tao.studentmanagement.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Columns the student list can be ordered by. Each one is backed by an index
+ * on (column, id), id being the tie-breaker of every sort, so a page is read
+ * in index order instead of sorting the table. Adding a field here needs a
+ * matching index on {@link Student} and in data.sql.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum StudentSortField {
+
+	ID("id"),
+	NAME("name"),
+	DOB("dob");
+
+	/** Entity attribute, which is also the column name. */
+	private final String property;
+
+	/** Looks a field up by its property name; throws IllegalArgumentException for anything else. */
+	public static StudentSortField from(String property) {
+		for (StudentSortField field : values()) {
+			if (field.property.equals(property))
+				return field;
+		}
+		throw new IllegalArgumentException("Unsupported sort field: " + property);
+	}
+}
@@ -0,0 +1,12 @@
+package net.tao.studentmanagement.repository;
+
+/**
+ * Id and name only, for building in-memory structures over the whole table
+ * without loading full entities.
+ */
+public interface StudentNameView {
+
+	Integer getId();
+
+	String getName();
+}
@@ -1,16 +1,94 @@
 package net.tao.studentmanagement.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
 import net.tao.studentmanagement.model.Student;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Integer> {
+public interface StudentRepository extends JpaRepository<Student, Integer>, StudentRepositoryCustom {
 	List<Student> findByNameContainingIgnoreCase(String name, Pageable pageable);
 	long countByNameContainingIgnoreCase(String name);
 
+	/**
+	 * Constructor expression for the slim table row. Queries built on it return
+	 * unmanaged DTOs, so the persistence context keeps no snapshots for them.
+	 */
+	String SUMMARY_SELECT = "select new net.tao.studentmanagement.dto.StudentSummaryDto("
+			+ "s.id, s.name, s.gender, s.dob, s.email, s.mobile) from Student s";
+
+	@Query(SUMMARY_SELECT)
+	List<StudentSummaryDto> findSummariesBy(Pageable pageable);
+
+	@Query(SUMMARY_SELECT + " where s.id in :ids")
+	List<StudentSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+	/** Row version alone, to answer a conditional request without loading the row. */
+	@Query("select s.version from Student s where s.id = :id")
+	Optional<Long> findVersionById(@Param("id") Integer id);
+
+	/*
+	 * Keyset (seek) pagination. Each query starts from the boundary row of the
+	 * previous slice instead of skipping an OFFSET, so the cost of a page does not
+	 * grow with its depth. The Pageable only carries the sort and the limit; its
+	 * page number is always 0. Results are List-typed so no count query is issued.
+	 * The name queries bound the name on its own first, which is what lets the
+	 * database seek into the (name, id) index; the row-value comparison alone is
+	 * an OR that it can only filter.
+	 */
+
+	@Query(SUMMARY_SELECT + " where s.id > :id")
+	List<StudentSummaryDto> findSummariesByIdGreaterThan(@Param("id") Integer id, Pageable pageable);
+
+	@Query(SUMMARY_SELECT + " where s.id < :id")
+	List<StudentSummaryDto> findSummariesByIdLessThan(@Param("id") Integer id, Pageable pageable);
+
+	@Query(SUMMARY_SELECT + " where s.name >= :name and (s.name > :name or s.id > :id)")
+	List<StudentSummaryDto> findSummariesByNameAndIdAfter(@Param("name") String name, @Param("id") Integer id,
+			Pageable pageable);
+
+	@Query(SUMMARY_SELECT + " where s.name <= :name and (s.name < :name or s.id < :id)")
+	List<StudentSummaryDto> findSummariesByNameAndIdBefore(@Param("name") String name, @Param("id") Integer id,
+			Pageable pageable);
+
+	/**
+	 * Streams (id, name) pairs of every student. Must be consumed inside a
+	 * transaction and closed after use.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("select s.id as id, s.name as name from Student s")
+	Stream<StudentNameView> streamAllNames();
+
+	/**
+	 * Streams every student in id order through a forward-only cursor, loaded
+	 * read-only so Hibernate keeps no snapshots. Must be consumed inside a
+	 * transaction and closed after use.
+	 */
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("select s from Student s order by s.id")
+	Stream<Student> streamAll();
+
+	/**
+	 * Deletes one student with a single statement, without loading it first.
+	 *
+	 * @return number of rows removed, 0 when the id does not exist
+	 */
+	@Modifying
+	@Query("delete from Student s where s.id = :id")
+	int deleteOneById(@Param("id") Integer id);
+
 }
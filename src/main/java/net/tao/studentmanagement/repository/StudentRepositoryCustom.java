@@ -0,0 +1,41 @@
+package net.tao.studentmanagement.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import net.tao.studentmanagement.dto.PageResult;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
+
+public interface StudentRepositoryCustom {
+
+	/**
+	 * Loads one page of table rows and the total number of matching rows in a
+	 * single statement. A page past the end is clamped to the last page inside
+	 * the query, so an out-of-range request does not need a second round trip.
+	 *
+	 * @param keyword optional name filter (case-insensitive substring), may be
+	 *                null or blank
+	 */
+	PageResult<StudentSummaryDto> findPageWithTotal(String keyword, int page, int size, String sortField, String sortDir);
+
+	/**
+	 * Deletes the given students and returns the ids that were actually
+	 * removed. This takes two statements: a SELECT ... FOR UPDATE by primary
+	 * key that finds and locks the rows that exist, then one set-based DELETE of
+	 * those ids (skipped when none exist). The affected-row count alone could not
+	 * tell which ids were missing, and DELETE ... RETURNING is not portable.
+	 * Callers chunk large id sets so the IN lists stay bounded.
+	 */
+	List<Integer> deleteAllByIdReturningIds(Collection<Integer> ids);
+
+	/**
+	 * Sets only the given columns of one student and increments its version, in a
+	 * single UPDATE guarded by the expected version. Nothing is read first.
+	 *
+	 * @param values new values by entity attribute name; null clears a column
+	 * @return number of rows updated: 0 when the student is gone or its version
+	 *         moved on
+	 */
+	int updateFields(Integer id, long expectedVersion, Map<String, Object> values);
+}
@@ -0,0 +1,132 @@
+package net.tao.studentmanagement.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import net.tao.studentmanagement.dto.PageResult;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
+import net.tao.studentmanagement.model.Student;
+import net.tao.studentmanagement.model.StudentSortField;
+
+/**
+ * Hand-written queries that Spring Data cannot derive. Picked up automatically
+ * as the implementation of {@link StudentRepositoryCustom}.
+ */
+class StudentRepositoryImpl implements StudentRepositoryCustom {
+
+	/** Attributes a partial update may set; id and version are managed here. */
+	private static final Set<String> UPDATABLE_FIELDS = Set.of("name", "address", "gender", "dob", "email", "mobile",
+			"phone");
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public PageResult<StudentSummaryDto> findPageWithTotal(String keyword, int page, int size, String sortField,
+			String sortDir) {
+		// concatenated into SQL, so only declared sort fields are accepted
+		String column = StudentSortField.from(sortField).getProperty();
+		String direction = "asc".equals(sortDir) ? "ASC" : "DESC";
+		String order = "s." + column + " " + direction + (column.equals("id") ? "" : ", s.id " + direction);
+		boolean hasSearch = keyword != null && !keyword.isBlank();
+
+		// COUNT(*) OVER () carries the total on every row; the outer filter picks
+		// the requested page, or the last page when the request is out of range.
+		// Only ids are ranked, so the ranking reads a (column, id) index instead
+		// of the table; the page's rows are then joined by primary key.
+		String sql = """
+				SELECT s.id, s.name, s.gender, s.dob, s.email, s.mobile, t.total_count FROM (
+				    SELECT s.id, COUNT(*) OVER () AS total_count, ROW_NUMBER() OVER (ORDER BY %s) AS row_num
+				    FROM student s %s
+				) t
+				JOIN student s ON s.id = t.id
+				WHERE t.row_num > LEAST(:offset, (t.total_count - 1) / :size * :size)
+				  AND t.row_num <= LEAST(:offset, (t.total_count - 1) / :size * :size) + :size
+				ORDER BY t.row_num
+				""".formatted(order, hasSearch ? "WHERE UPPER(s.name) LIKE :pattern ESCAPE '\\'" : "");
+
+		NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+		query.addScalar("id", StandardBasicTypes.INTEGER);
+		query.addScalar("name", StandardBasicTypes.STRING);
+		query.addScalar("gender", StandardBasicTypes.STRING);
+		query.addScalar("dob", StandardBasicTypes.LOCAL_DATE_TIME);
+		query.addScalar("email", StandardBasicTypes.STRING);
+		query.addScalar("mobile", StandardBasicTypes.STRING);
+		query.addScalar("total_count", StandardBasicTypes.LONG);
+		query.setParameter("offset", (long) page * size);
+		query.setParameter("size", size);
+		if (hasSearch)
+			query.setParameter("pattern", "%" + escapeLike(keyword.toUpperCase(Locale.ROOT)) + "%");
+
+		List<Object[]> rows = query.getResultList();
+		if (rows.isEmpty())
+			return new PageResult<>(List.of(), 0, size, 0);
+
+		long total = (Long) rows.get(0)[6];
+		int lastPage = (int) ((total - 1) / size);
+		List<StudentSummaryDto> content = rows.stream()
+				.map(row -> new StudentSummaryDto((Integer) row[0], (String) row[1], (String) row[2],
+						(LocalDateTime) row[3], (String) row[4], (String) row[5]))
+				.toList();
+		return new PageResult<>(content, Math.min(page, lastPage), size, total);
+	}
+
+	private static String escapeLike(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+
+	/**
+	 * Locks the rows that exist with SELECT ... FOR UPDATE, then removes them with
+	 * one bulk DELETE. Both are plain JPQL, so this works on any database; the
+	 * lock keeps a concurrent delete from taking a reported id between the two
+	 * statements.
+	 */
+	@Override
+	public List<Integer> deleteAllByIdReturningIds(Collection<Integer> ids) {
+		if (ids.isEmpty())
+			return List.of();
+		List<Integer> existing = entityManager
+				.createQuery("select s.id from Student s where s.id in :ids", Integer.class)
+				.setParameter("ids", ids)
+				.setLockMode(LockModeType.PESSIMISTIC_WRITE)
+				.getResultList();
+		if (!existing.isEmpty())
+			entityManager.createQuery("delete from Student s where s.id in :ids")
+					.setParameter("ids", existing)
+					.executeUpdate();
+		return existing;
+	}
+
+	@Override
+	public int updateFields(Integer id, long expectedVersion, Map<String, Object> values) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Student> update = cb.createCriteriaUpdate(Student.class);
+		Root<Student> root = update.from(Student.class);
+
+		values.forEach((field, value) -> {
+			if (!UPDATABLE_FIELDS.contains(field))
+				throw new IllegalArgumentException("Field cannot be updated: " + field);
+			update.set(field, value);
+		});
+		Path<Long> version = root.get("version");
+		update.set(version, cb.sum(version, 1L));
+		update.where(cb.equal(root.get("id"), id), cb.equal(version, expectedVersion));
+
+		return entityManager.createQuery(update).executeUpdate();
+	}
+}
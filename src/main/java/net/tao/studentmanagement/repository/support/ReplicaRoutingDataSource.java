@@ -0,0 +1,112 @@
+package net.tao.studentmanagement.repository.support;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections between the primary database and its read replicas.
+ * Read-only transactions are spread over the replicas round robin; writes,
+ * and reads on a thread pinned to the primary, go to the primary.
+ *
+ * The route is picked when a connection is obtained, so this data source has
+ * to sit behind a LazyConnectionDataSourceProxy: the transaction manager asks
+ * for a connection before the transaction's read-only flag is published, and
+ * the proxy defers that until the first statement.
+ *
+ * Replicas are assumed to catch up within {@code maxLag}. State shared by all
+ * clients, such as caches, uses {@link #mayBeBehind} to avoid keeping what a
+ * replica returned before it caught up.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+	public static final String PRIMARY = "primary";
+
+	private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+	private final List<String> replicaKeys;
+	private final Duration maxLag;
+	private final AtomicInteger next = new AtomicInteger();
+
+	public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag) {
+		Map<Object, Object> targets = new LinkedHashMap<>();
+		targets.put(PRIMARY, primary);
+		targets.putAll(replicas);
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		setLenientFallback(false);
+		replicaKeys = List.copyOf(replicas.keySet());
+		this.maxLag = maxLag;
+	}
+
+	/**
+	 * Whether read-only work on this thread may have been answered by a replica
+	 * that does not have a write committed at {@code writtenAt} (epoch millis)
+	 * yet. False on a thread pinned to the primary.
+	 */
+	public boolean mayBeBehind(long writtenAt) {
+		return !replicaKeys.isEmpty() && !Boolean.TRUE.equals(PINNED.get())
+				&& System.currentTimeMillis() - writtenAt < maxLag.toMillis();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (replicaKeys.isEmpty() || Boolean.TRUE.equals(PINNED.get())
+				|| !TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+			return PRIMARY;
+		return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+	}
+
+	/**
+	 * Runs reads that must not see replica lag, such as seeding state that is
+	 * then kept up to date from committed writes, against the primary. Has no
+	 * effect when no replicas are configured.
+	 */
+	public static <T> T onPrimary(Supplier<T> reads) {
+		Boolean previous = PINNED.get();
+		PINNED.set(Boolean.TRUE);
+		try {
+			return reads.get();
+		} finally {
+			if (previous == null)
+				PINNED.remove();
+			else
+				PINNED.set(previous);
+		}
+	}
+
+	public static void runOnPrimary(Runnable reads) {
+		onPrimary(() -> {
+			reads.run();
+			return null;
+		});
+	}
+
+	/** Sends the current thread's reads to the primary until {@link #unpin()}. */
+	public static void pinToPrimary() {
+		PINNED.set(Boolean.TRUE);
+	}
+
+	public static void unpin() {
+		PINNED.remove();
+	}
+
+	/** Closes the connection pools behind this data source on shutdown. */
+	@Override
+	public void close() throws IOException {
+		for (DataSource target : getResolvedDataSources().values()) {
+			if (target instanceof Closeable pool)
+				pool.close();
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package net.tao.studentmanagement.service;
+
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** Output formats supported by the student export. */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+	CSV(new MediaType("text", "csv"), "csv"),
+	NDJSON(new MediaType("application", "x-ndjson"), "ndjson");
+
+	private final MediaType mediaType;
+	private final String extension;
+
+	/** Case-insensitive lookup; throws IllegalArgumentException for unknown names. */
+	public static ExportFormat from(String name) {
+		return valueOf(name.trim().toUpperCase(Locale.ROOT));
+	}
+}
@@ -0,0 +1,15 @@
+package net.tao.studentmanagement.service;
+
+import java.io.OutputStream;
+
+public interface StudentExportService {
+
+	/**
+	 * Writes every student to the stream in the given format, in id order.
+	 * Rows are read and written one at a time, so memory use does not depend on
+	 * the number of students.
+	 *
+	 * @return number of students written
+	 */
+	long export(ExportFormat format, OutputStream out);
+}
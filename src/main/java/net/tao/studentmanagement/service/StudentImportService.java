@@ -0,0 +1,14 @@
+package net.tao.studentmanagement.service;
+
+import java.io.InputStream;
+
+import net.tao.studentmanagement.dto.ImportReport;
+
+public interface StudentImportService {
+
+	/**
+	 * Imports students from a UTF-8 CSV stream whose first line names the
+	 * columns. Valid rows are saved; invalid rows are reported, not saved.
+	 */
+	ImportReport importCsv(InputStream csv);
+}
@@ -1,21 +1,38 @@
 package net.tao.studentmanagement.service;
 
+import net.tao.studentmanagement.dto.BulkDeleteResult;
+import net.tao.studentmanagement.dto.CursorPage;
+import net.tao.studentmanagement.dto.PageResult;
 import net.tao.studentmanagement.dto.StudentRequestDto;
+import net.tao.studentmanagement.dto.StudentPosition;
 import net.tao.studentmanagement.dto.StudentResponseDto;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface StudentService {
 
 	StudentResponseDto createStudent(StudentRequestDto dto);
 
+	StudentPosition createStudent(StudentRequestDto dto, int size, String sortField, String sortDir);
+
 	StudentResponseDto updateStudent(Integer id, StudentRequestDto dto);
 
+	long patchStudent(Integer id, long expectedVersion, StudentRequestDto values, Set<String> fields);
+
 	StudentResponseDto getStudentById(Integer id);
 
+	long getStudentVersion(Integer id);
+
+	List<StudentResponseDto> getStudentsByIds(Collection<Integer> ids);
+
 	List<StudentResponseDto> getAllStudents();
 
 	void deleteStudent(Integer id);
 
+	BulkDeleteResult deleteStudents(Collection<Integer> ids);
+
 	long getTotalCount();
 
 	List<StudentResponseDto> searchStudents(String keyword, int page, int size);
@@ -27,4 +44,9 @@ public interface StudentService {
 	List<StudentResponseDto> searchStudentsSorted(String keyword, int page, int size, String sortField,
 			String sortDir);
 
+	PageResult<StudentSummaryDto> getStudentPage(String keyword, int page, int size, String sortField,
+			String sortDir);
+
+	CursorPage<StudentSummaryDto> getStudentsKeyset(String cursor, int size, String sortField, String sortDir);
+
 }
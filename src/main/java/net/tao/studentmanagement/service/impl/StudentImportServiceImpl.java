@@ -0,0 +1,250 @@
+package net.tao.studentmanagement.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tao.studentmanagement.dto.ImportReport;
+import net.tao.studentmanagement.dto.StudentRequestDto;
+import net.tao.studentmanagement.event.StudentChangedEvent;
+import net.tao.studentmanagement.mapper.StudentMapper;
+import net.tao.studentmanagement.model.Student;
+import net.tao.studentmanagement.repository.StudentRepository;
+import net.tao.studentmanagement.service.StudentImportService;
+
+/**
+ * Streams a CSV upload in fixed-size chunks so memory use does not grow with
+ * the file. Each chunk is parsed and validated in parallel, then its valid rows
+ * are inserted in one transaction; with sequence ids and
+ * {@code hibernate.jdbc.batch_size} those inserts go out as JDBC batches.
+ *
+ * A chunk that fails to insert is rolled back and its rows reported; earlier
+ * chunks stay committed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudentImportServiceImpl implements StudentImportService {
+
+	private static final String NAME = "name";
+
+	private final StudentRepository studentRepository;
+	private final StudentMapper studentMapper;
+	private final Validator validator;
+	private final TransactionTemplate transactionTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Value("${app.import.chunk-size:1000}")
+	private int chunkSize;
+
+	@Value("${app.import.max-errors:1000}")
+	private int maxErrors;
+
+	@Override
+	public ImportReport importCsv(InputStream csv) {
+		long started = System.nanoTime();
+		Progress progress = new Progress();
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+			String headerLine = reader.readLine();
+			Map<String, Integer> header = headerLine == null ? Map.of() : parseHeader(headerLine);
+			if (!header.containsKey(NAME)) {
+				progress.reject(1, List.of("Header must contain a 'name' column"));
+				return progress.report();
+			}
+
+			List<RawRow> chunk = new ArrayList<>(chunkSize);
+			long lineNo = 1;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNo++;
+				if (line.isBlank())
+					continue;
+				chunk.add(new RawRow(lineNo, line));
+				if (chunk.size() == chunkSize) {
+					processChunk(chunk, header, progress);
+					chunk = new ArrayList<>(chunkSize);
+				}
+			}
+			if (!chunk.isEmpty())
+				processChunk(chunk, header, progress);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read CSV upload", e);
+		}
+
+		ImportReport report = progress.report();
+		log.info("Imported {} of {} students ({} rejected) in {} ms", report.getImported(), report.getTotalRows(),
+				report.getFailed(), (System.nanoTime() - started) / 1_000_000);
+		return report;
+	}
+
+	private void processChunk(List<RawRow> chunk, Map<String, Integer> header, Progress progress) {
+		List<ParsedRow> parsed = chunk.parallelStream().map(row -> parseRow(row, header)).toList();
+
+		List<ParsedRow> valid = new ArrayList<>(parsed.size());
+		for (ParsedRow row : parsed) {
+			progress.totalRows++;
+			if (row.errors().isEmpty())
+				valid.add(row);
+			else
+				progress.reject(row.line(), row.errors());
+		}
+		if (valid.isEmpty())
+			return;
+
+		try {
+			progress.imported += persist(valid);
+		} catch (DataAccessException e) {
+			log.warn("Import chunk of {} rows failed: {}", valid.size(), e.getMessage());
+			for (ParsedRow row : valid)
+				progress.reject(row.line(), List.of("Not saved: " + e.getMostSpecificCause().getMessage()));
+		}
+	}
+
+	private int persist(List<ParsedRow> rows) {
+		Integer saved = transactionTemplate.execute(status -> {
+			List<Student> entities = rows.stream().map(row -> studentMapper.toEntity(row.student())).toList();
+			studentRepository.saveAll(entities);
+
+			Map<Integer, String> names = new LinkedHashMap<>();
+			entities.forEach(s -> names.put(s.getId(), s.getName()));
+			eventPublisher.publishEvent(StudentChangedEvent.created(names));
+			return entities.size();
+		});
+		return saved == null ? 0 : saved;
+	}
+
+	private ParsedRow parseRow(RawRow row, Map<String, Integer> header) {
+		List<String> fields;
+		try {
+			fields = splitCsvLine(row.text());
+		} catch (IllegalArgumentException e) {
+			return new ParsedRow(row.line(), null, List.of(e.getMessage()));
+		}
+
+		List<String> errors = new ArrayList<>();
+		StudentRequestDto dto = new StudentRequestDto();
+		dto.setName(field(fields, header, NAME));
+		dto.setAddress(field(fields, header, "address"));
+		dto.setEmail(field(fields, header, "email"));
+		dto.setMobile(field(fields, header, "mobile"));
+		dto.setPhone(field(fields, header, "phone"));
+
+		// same default as the entity and the column
+		String gender = field(fields, header, "gender");
+		dto.setGender(gender == null ? "M" : gender.toUpperCase(Locale.ROOT));
+
+		String dob = field(fields, header, "dob");
+		if (dob != null) {
+			try {
+				dto.setDob(LocalDate.parse(dob));
+			} catch (DateTimeParseException e) {
+				errors.add("dob: must be a date in yyyy-MM-dd format");
+			}
+		}
+
+		validator.validate(dto).forEach(v -> errors.add(v.getPropertyPath() + ": " + v.getMessage()));
+		errors.sort(null);
+		return new ParsedRow(row.line(), dto, errors);
+	}
+
+	private static Map<String, Integer> parseHeader(String line) {
+		// tolerate a UTF-8 byte order mark written by spreadsheet exports
+		if (line.startsWith("\uFEFF"))
+			line = line.substring(1);
+		List<String> names = splitCsvLine(line);
+		Map<String, Integer> header = new HashMap<>();
+		for (int i = 0; i < names.size(); i++)
+			header.putIfAbsent(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+		return header;
+	}
+
+	/** Trimmed value of a column, or null when the column is absent or blank. */
+	private static String field(List<String> fields, Map<String, Integer> header, String column) {
+		Integer index = header.get(column);
+		if (index == null || index >= fields.size())
+			return null;
+		String value = fields.get(index).trim();
+		return value.isEmpty() ? null : value;
+	}
+
+	/**
+	 * Splits one CSV record (RFC 4180 quoting, "" as an escaped quote). Quoted
+	 * fields may not span lines.
+	 */
+	static List<String> splitCsvLine(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c != '"')
+					field.append(c);
+				else if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+					field.append(line.charAt(++i));
+				else
+					quoted = false;
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		if (quoted)
+			throw new IllegalArgumentException("Unterminated quoted field");
+		fields.add(field.toString());
+		return fields;
+	}
+
+	private record RawRow(long line, String text) {
+	}
+
+	private record ParsedRow(long line, StudentRequestDto student, List<String> errors) {
+	}
+
+	/** Running totals for one import; only touched by the importing thread. */
+	private final class Progress {
+
+		int totalRows;
+		int imported;
+		int failed;
+		final List<ImportReport.RowError> errors = new ArrayList<>();
+		boolean truncated;
+
+		void reject(long line, List<String> messages) {
+			failed++;
+			if (errors.size() < maxErrors)
+				errors.add(new ImportReport.RowError(line, List.copyOf(messages)));
+			else
+				truncated = true;
+		}
+
+		ImportReport report() {
+			return new ImportReport(totalRows, imported, failed, List.copyOf(errors), truncated);
+		}
+	}
+}
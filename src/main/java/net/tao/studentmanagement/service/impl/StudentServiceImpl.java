@@ -1,30 +1,67 @@
 package net.tao.studentmanagement.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import net.tao.studentmanagement.dto.BulkDeleteResult;
+import net.tao.studentmanagement.dto.CursorPage;
+import net.tao.studentmanagement.dto.PageResult;
 import net.tao.studentmanagement.dto.StudentRequestDto;
+import net.tao.studentmanagement.dto.StudentPosition;
 import net.tao.studentmanagement.dto.StudentResponseDto;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
+import net.tao.studentmanagement.event.StudentChangedEvent;
 import net.tao.studentmanagement.exception.ResourceNotFoundException;
 import net.tao.studentmanagement.mapper.StudentMapper;
 import net.tao.studentmanagement.model.Student;
+import net.tao.studentmanagement.model.StudentSortField;
 import net.tao.studentmanagement.repository.StudentRepository;
 import net.tao.studentmanagement.service.StudentService;
+import net.tao.studentmanagement.service.support.KeysetCursor;
+import net.tao.studentmanagement.service.support.StudentCountRegistry;
+import net.tao.studentmanagement.service.support.StudentDetailCache;
+import net.tao.studentmanagement.service.support.StudentMetrics;
+import net.tao.studentmanagement.service.support.StudentNameIndex;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "student.service", description = "StudentService operations", histogram = true)
 public class StudentServiceImpl implements StudentService {
 
+	/** Bounds the IN list of one bulk DELETE statement. */
+	private static final int DELETE_CHUNK_SIZE = 500;
+
 	private final StudentRepository studentRepository;
 	private final StudentMapper studentMapper;
+	private final StudentCountRegistry countRegistry;
+	private final StudentNameIndex nameIndex;
+	private final ApplicationEventPublisher eventPublisher;
+	private final StudentMetrics metrics;
+	private final StudentDetailCache detailCache;
 
 	/**
 	 * Creates a new student record. Converts the incoming request DTO into an
@@ -36,10 +73,37 @@ public class StudentServiceImpl implements StudentService {
 		log.info("Creating student: {}", dto.getName());
 		Student entity = studentMapper.toEntity(dto);
 		studentRepository.save(entity);
+		eventPublisher.publishEvent(StudentChangedEvent.created(entity.getId(), entity.getName()));
 		log.info("Student created with id={}", entity.getId());
 		return studentMapper.toResponseDto(entity);
 	}
 
+	/**
+	 * Creates a student and works out which page of the list, for the given
+	 * sort and page size, it appears on. For id and name order the position
+	 * comes from the in-memory name index, so no COUNT query is needed; until the
+	 * index is built the student is placed by id, which only grows. Dob order is
+	 * not held in memory and counting it would read the index up to the new row,
+	 * so a dob sort falls back to id order; the returned position says which
+	 * sort it holds for.
+	 *
+	 * @throws IllegalArgumentException if size is below 1, before anything is saved
+	 */
+	@Override
+	public StudentPosition createStudent(StudentRequestDto dto, int size, String sortField, String sortDir) {
+		if (size < 1)
+			throw new IllegalArgumentException("Page size must be at least 1: " + size);
+		StudentResponseDto created = createStudent(dto);
+		String placedBy = StudentSortField.DOB.getProperty().equals(sortField) ? StudentSortField.ID.getProperty()
+				: sortField;
+		long ordinal;
+		if (nameIndex.isReady() && StudentNameIndex.supportsSort(placedBy))
+			ordinal = nameIndex.ordinalOf(created.getId(), created.getName(), placedBy, sortDir);
+		else
+			ordinal = "asc".equals(sortDir) ? countRegistry.current() : 0;
+		return new StudentPosition(created, placedBy, ordinal, (int) (ordinal / size));
+	}
+
 	/**
 	 * Updates an existing student. Fetches the entity by ID, throws error if not
 	 * present, then applies update fields using MapStruct merge logic and saves the
@@ -55,24 +119,129 @@ public class StudentServiceImpl implements StudentService {
 
 		studentMapper.updateEntityFromDto(dto, entity); // MapStruct merge
 		studentRepository.save(entity);
+		eventPublisher.publishEvent(StudentChangedEvent.updated(id, entity.getName()));
 		log.info("Updated student id={}", id);
 		return studentMapper.toResponseDto(entity);
 	}
 
+	/**
+	 * Partially updates a student: only the named fields are written, in one
+	 * UPDATE that also checks and bumps the row version. The row is not loaded;
+	 * only when nothing was updated is it looked up, to tell a missing student
+	 * from a concurrent change.
+	 *
+	 * @return the student's new version
+	 */
+	@Override
+	public long patchStudent(Integer id, long expectedVersion, StudentRequestDto values, Set<String> fields) {
+		log.info("Patching student id={} fields={}", id, fields);
+		if (fields.isEmpty())
+			return expectedVersion;
+
+		Map<String, Object> changes = new LinkedHashMap<>();
+		for (String field : fields) {
+			changes.put(field, switch (field) {
+				case "name" -> values.getName();
+				case "address" -> values.getAddress();
+				case "gender" -> values.getGender();
+				case "dob" -> values.getDob() == null ? null : values.getDob().atStartOfDay();
+				case "email" -> values.getEmail();
+				case "mobile" -> values.getMobile();
+				case "phone" -> values.getPhone();
+				default -> throw new IllegalArgumentException("Unknown student field: " + field);
+			});
+		}
+
+		if (studentRepository.updateFields(id, expectedVersion, changes) == 0) {
+			if (!studentRepository.existsById(id)) {
+				log.warn("Student not found with id={}", id);
+				throw new ResourceNotFoundException("Student not found with id: " + id);
+			}
+			log.warn("Student id={} was modified concurrently (expected version {})", id, expectedVersion);
+			throw new ObjectOptimisticLockingFailureException(Student.class, id);
+		}
+
+		eventPublisher.publishEvent(StudentChangedEvent.updated(id, fields.contains("name") ? values.getName() : null));
+		log.info("Student patched id={}", id);
+		return expectedVersion + 1;
+	}
+
 	/**
 	 * Retrieves a single student by ID. Throws ResourceNotFoundException if the
-	 * student does not exist.
+	 * student does not exist. Results are cached until the student is updated or
+	 * deleted; see {@link StudentDetailCache}. The class-level student.service
+	 * timer wraps every call, cache hits included; student.detail.load times
+	 * only the lookups that reach the database.
 	 */
 	@Override
-	@Transactional(readOnly = true)
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	public StudentResponseDto getStudentById(Integer id) {
+		StudentResponseDto cached = detailCache.get(id);
+		if (cached != null)
+			return cached;
+
+		long generation = detailCache.generation();
 		log.info("Fetching student id={}", id);
-		Student entity = studentRepository.findById(id).orElseThrow(() -> {
-			log.warn("Student not found id={}", id);
-			return new ResourceNotFoundException("Student not found with id: " + id);
-		});
+		long start = System.nanoTime();
+		try {
+			Student entity = studentRepository.findById(id).orElseThrow(() -> {
+				log.warn("Student not found id={}", id);
+				return new ResourceNotFoundException("Student not found with id: " + id);
+			});
 
-		return studentMapper.toResponseDto(entity);
+			StudentResponseDto dto = studentMapper.toResponseDto(entity);
+			detailCache.put(dto, generation);
+			return dto;
+		} finally {
+			metrics.recordDetailLoad(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Returns the row version of a student, for conditional requests. It comes
+	 * from the detail cache when the student is there, otherwise from a primary
+	 * key lookup of the version column alone; nothing is mapped or cached.
+	 * Throws ResourceNotFoundException if the student does not exist.
+	 */
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public long getStudentVersion(Integer id) {
+		StudentResponseDto cached = detailCache.get(id);
+		if (cached != null)
+			return cached.getVersion();
+		return studentRepository.findVersionById(id)
+				.orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+	}
+
+	/**
+	 * Retrieves several students at once, in the order requested. Students in
+	 * the detail cache are taken from it; the rest are loaded with a single IN
+	 * query and cached. Unknown ids are skipped.
+	 */
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public List<StudentResponseDto> getStudentsByIds(Collection<Integer> ids) {
+		List<Integer> requested = ids.stream().filter(Objects::nonNull).distinct().toList();
+		Map<Integer, StudentResponseDto> found = new HashMap<>();
+		List<Integer> misses = new ArrayList<>();
+		for (Integer id : requested) {
+			StudentResponseDto cached = detailCache.get(id);
+			if (cached != null)
+				found.put(id, cached);
+			else
+				misses.add(id);
+		}
+		log.info("Fetching {} students by id ({} cached)", requested.size(), found.size());
+
+		if (!misses.isEmpty()) {
+			long generation = detailCache.generation();
+			for (Student entity : studentRepository.findAllById(misses)) {
+				StudentResponseDto dto = studentMapper.toResponseDto(entity);
+				detailCache.put(dto, generation);
+				found.put(dto.getId(), dto);
+			}
+		}
+		return requested.stream().map(found::get).filter(Objects::nonNull).toList();
 	}
 
 	/**
@@ -89,29 +258,61 @@ public class StudentServiceImpl implements StudentService {
 	}
 
 	/**
-	 * Deletes a student by ID. Ensures the student exists before deletion to avoid
-	 * silent failures.
+	 * Deletes a student by ID with a single DELETE statement; an affected-row
+	 * count of zero means the student did not exist.
 	 */
 	@Override
 	public void deleteStudent(Integer id) {
 		log.info("Deleting student id={}", id);
 
-		if (!studentRepository.existsById(id)) {
+		if (studentRepository.deleteOneById(id) == 0) {
 			log.warn("Cannot delete: student id={} not found", id);
 			throw new ResourceNotFoundException("Student not found with id: " + id);
 		}
 
-		studentRepository.deleteById(id);
+		eventPublisher.publishEvent(StudentChangedEvent.deleted(List.of(id)));
 		log.info("Deleted student id={}", id);
 	}
 
+	/**
+	 * Deletes many students in chunks of {@value #DELETE_CHUNK_SIZE} ids, all in
+	 * one transaction. Each chunk costs two statements, a locking SELECT and a
+	 * set-based DELETE; see {@link StudentRepository#deleteAllByIdReturningIds}.
+	 * Ids that did not exist are reported rather than failing the whole request.
+	 */
+	@Override
+	public BulkDeleteResult deleteStudents(Collection<Integer> ids) {
+		List<Integer> requested = ids.stream().filter(Objects::nonNull).distinct().toList();
+		log.info("Bulk deleting {} students", requested.size());
+
+		List<Integer> deleted = new ArrayList<>(requested.size());
+		for (int from = 0; from < requested.size(); from += DELETE_CHUNK_SIZE) {
+			List<Integer> chunk = requested.subList(from, Math.min(from + DELETE_CHUNK_SIZE, requested.size()));
+			deleted.addAll(studentRepository.deleteAllByIdReturningIds(chunk));
+		}
+
+		List<Integer> missing = List.of();
+		if (deleted.size() != requested.size()) {
+			Set<Integer> removed = new HashSet<>(deleted);
+			missing = requested.stream().filter(id -> !removed.contains(id)).toList();
+			log.warn("Bulk delete: {} of {} students not found: {}", missing.size(), requested.size(), missing);
+		}
+
+		if (!deleted.isEmpty())
+			eventPublisher.publishEvent(StudentChangedEvent.deleted(deleted));
+		log.info("Bulk deleted {} students", deleted.size());
+		return new BulkDeleteResult(List.copyOf(deleted), missing);
+	}
+
 	/**
 	 * Returns the total number of student records. Used for calculating pagination
-	 * page counts.
+	 * page counts. Served from the in-memory count registry, so no query or
+	 * connection is needed.
 	 */
 	@Override
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	public long getTotalCount() {
-		long count = studentRepository.count();
+		long count = countRegistry.current();
 	    log.info("Total student count = {}", count);
 	    return count;
 	}
@@ -124,12 +325,14 @@ public class StudentServiceImpl implements StudentService {
 	public List<StudentResponseDto> searchStudents(String keyword, int page, int size) {
 		log.info("Searching students. keyword='{}', page={}, size={}", keyword, page, size);
 
-	    var pageable = PageRequest.of(page, size);
-	    var list = studentRepository
-	            .findByNameContainingIgnoreCase(keyword, pageable)
-	            .stream()
-	            .map(studentMapper::toResponseDto)
-	            .toList();
+	    List<Student> rows;
+	    if (nameIndex.canSearch(keyword)) {
+	        var ids = nameIndex.page(keyword, page, size, "id", "asc");
+	        rows = ids.getPage() == page ? findAllInOrder(ids.getContent()) : List.of();
+	    } else {
+	        rows = studentRepository.findByNameContainingIgnoreCase(keyword, PageRequest.of(page, size));
+	    }
+	    var list = rows.stream().map(studentMapper::toResponseDto).toList();
 
 	    log.info("Search returned {} results for keyword='{}'", list.size(), keyword);
 	    return list;
@@ -137,11 +340,16 @@ public class StudentServiceImpl implements StudentService {
 
 	/**
 	 * Returns total number of results for a search query. Required for computing
-	 * paginated result counts.
+	 * paginated result counts. Answered by the in-memory name index once it is
+	 * built, for keywords it can serve. Read-only like {@link #getTotalCount()}, so the fallback COUNT
+	 * query is routed to a replica.
 	 */
 	@Override
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	public long countSearchResults(String keyword) {
-		long count = studentRepository.countByNameContainingIgnoreCase(keyword);
+		long count = nameIndex.canSearch(keyword) ? nameIndex.count(keyword)
+				: studentRepository.countByNameContainingIgnoreCase(keyword);
+		metrics.recordSearchResults(count);
 	    log.info("Count search results for keyword='{}' = {}", keyword, count);
 	    return count;
 	}
@@ -155,11 +363,7 @@ public class StudentServiceImpl implements StudentService {
 		log.info("Fetching paginated sorted students. page={}, size={}, sortField='{}', sortDir='{}'",
 	            page, size, sortField, sortDir);
 
-	    var pageable = PageRequest.of(
-	            page,
-	            size,
-	            sortDir.equals("asc") ? Sort.by(sortField).ascending() : Sort.by(sortField).descending()
-	    );
+	    var pageable = PageRequest.of(page, size, sortBy(sortField, sortDir));
 
 	    var list = studentRepository.findAll(pageable)
 	            .stream()
@@ -172,7 +376,8 @@ public class StudentServiceImpl implements StudentService {
 
 	/**
 	 * Keyword search + Sorting + Pagination. Combined operation for advanced list
-	 * views.
+	 * views. Matching ids for id/name order come from the in-memory name index,
+	 * so only the rows of the requested page are read from the database.
 	 */
 	@Transactional(readOnly = true)
 	public List<StudentResponseDto> searchStudentsSorted(String keyword, int page, int size, String sortField,
@@ -180,20 +385,152 @@ public class StudentServiceImpl implements StudentService {
 		log.info("Searching students (sorted). keyword='{}', page={}, size={}, sortField='{}', sortDir='{}'",
 	            keyword, page, size, sortField, sortDir);
 
-	    var pageable = PageRequest.of(
-	            page,
-	            size,
-	            sortDir.equals("asc") ? Sort.by(sortField).ascending() : Sort.by(sortField).descending()
-	    );
+	    List<Student> rows;
+	    if (nameIndex.canSearch(keyword) && StudentNameIndex.supportsSort(sortField)) {
+	        var ids = nameIndex.page(keyword, page, size, sortField, sortDir);
+	        rows = ids.getPage() == page ? findAllInOrder(ids.getContent()) : List.of();
+	    } else {
+	        var pageable = PageRequest.of(page, size, sortBy(sortField, sortDir));
+	        rows = studentRepository.findByNameContainingIgnoreCase(keyword, pageable);
+	    }
 
-	    var list = studentRepository
-	            .findByNameContainingIgnoreCase(keyword, pageable)
-	            .stream()
-	            .map(studentMapper::toResponseDto)
-	            .toList();
+	    var list = rows.stream().map(studentMapper::toResponseDto).toList();
 
 	    log.info("Search + sorted returned {} records for keyword='{}'", list.size(), keyword);
 	    return list;
 	}
 
+	/**
+	 * Page of students plus the total match count, fetched in a single query for
+	 * both the plain and the keyword-filtered list. An out-of-range page number
+	 * comes back clamped to the last page. The unfiltered list takes its total
+	 * from the count registry and a keyword search takes its matches from the
+	 * name index, so both only query the rows of the page. Rows are read as
+	 * {@link StudentSummaryDto} projections rather than managed entities.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public PageResult<StudentSummaryDto> getStudentPage(String keyword, int page, int size, String sortField,
+			String sortDir) {
+		log.info("Fetching student page with total. keyword='{}', page={}, size={}, sortField='{}', sortDir='{}'",
+				keyword, page, size, sortField, sortDir);
+
+		var sort = sortBy(sortField, sortDir);
+		PageResult<StudentSummaryDto> result;
+		if (keyword == null || keyword.isBlank()) {
+			long total = countRegistry.current();
+			int clamped = total == 0 ? 0 : Math.min(page, (int) ((total - 1) / size));
+			var rows = studentRepository.findSummariesBy(PageRequest.of(clamped, size, sort));
+			result = new PageResult<>(rows, clamped, size, total);
+		} else if (nameIndex.canSearch(keyword) && StudentNameIndex.supportsSort(sortField)) {
+			var ids = nameIndex.page(keyword, page, size, sortField, sortDir);
+			var rows = inIdOrder(ids.getContent(), studentRepository.findSummariesByIdIn(ids.getContent()),
+					StudentSummaryDto::getId);
+			result = new PageResult<>(rows, ids.getPage(), size, ids.getTotalElements());
+		} else {
+			result = studentRepository.findPageWithTotal(keyword, page, size, sortField, sortDir);
+		}
+		if (keyword != null && !keyword.isBlank())
+			metrics.recordSearchResults(result.getTotalElements());
+
+		log.info("Page {} returned {} of {} records", result.getPage(), result.getContent().size(),
+				result.getTotalElements());
+		return result;
+	}
+
+	/**
+	 * Keyset (seek) pagination. Instead of an OFFSET, each slice continues from
+	 * the (sortField, id) key carried by the cursor, so deep pages cost the same
+	 * as the first one. Sorting by name uses id as the tie-breaker; any other
+	 * declared sort field is served in id order, and unknown fields are rejected.
+	 * One extra row is fetched to detect whether a further slice exists, which
+	 * avoids a count query.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPage<StudentSummaryDto> getStudentsKeyset(String cursor, int size, String sortField,
+			String sortDir) {
+		log.info("Fetching keyset page. size={}, sortField='{}', sortDir='{}'", size, sortField, sortDir);
+
+		boolean byName = StudentSortField.from(sortField) == StudentSortField.NAME;
+		String keyField = byName ? "name" : "id";
+
+		KeysetCursor position = KeysetCursor.decode(cursor);
+		if (position != null && !position.matches(keyField, sortDir)) {
+			log.info("Ignoring cursor issued for a different sort");
+			position = null;
+		}
+
+		boolean backward = position != null && position.isBackward();
+		// walking backwards scans in the opposite direction and reverses the slice
+		Direction direction = sortDir.equals("asc") != backward ? Direction.ASC : Direction.DESC;
+		Sort sort = byName ? Sort.by(direction, "name").and(Sort.by(direction, "id")) : Sort.by(direction, "id");
+		var limit = PageRequest.of(0, size + 1, sort);
+
+		List<StudentSummaryDto> rows;
+		if (position == null) {
+			rows = studentRepository.findSummariesBy(limit);
+		} else if (byName) {
+			rows = direction == Direction.ASC
+					? studentRepository.findSummariesByNameAndIdAfter(position.getName(), position.getId(), limit)
+					: studentRepository.findSummariesByNameAndIdBefore(position.getName(), position.getId(), limit);
+		} else {
+			rows = direction == Direction.ASC
+					? studentRepository.findSummariesByIdGreaterThan(position.getId(), limit)
+					: studentRepository.findSummariesByIdLessThan(position.getId(), limit);
+		}
+
+		boolean hasMore = rows.size() > size;
+		rows = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+		if (backward)
+			Collections.reverse(rows);
+
+		boolean hasNext = backward || hasMore;
+		boolean hasPrev = backward ? hasMore : position != null;
+
+		String nextCursor = null;
+		String prevCursor = null;
+		if (!rows.isEmpty()) {
+			StudentSummaryDto first = rows.get(0);
+			StudentSummaryDto last = rows.get(rows.size() - 1);
+			if (hasNext)
+				nextCursor = KeysetCursor.after(keyField, sortDir, last.getId(), last.getName()).encode();
+			if (hasPrev)
+				prevCursor = KeysetCursor.before(keyField, sortDir, first.getId(), first.getName()).encode();
+		}
+
+		log.info("Keyset fetch returned {} records", rows.size());
+		return new CursorPage<>(List.copyOf(rows), nextCursor, prevCursor, size);
+	}
+
+	/**
+	 * Loads students by primary key and returns them in the order of the given
+	 * ids. Ids deleted in the meantime are skipped.
+	 */
+	private List<Student> findAllInOrder(List<Integer> ids) {
+		if (ids.isEmpty())
+			return List.of();
+		return inIdOrder(ids, studentRepository.findAllById(ids), Student::getId);
+	}
+
+	/**
+	 * Reorders rows fetched with an IN query to match the given id order,
+	 * skipping ids that no longer exist.
+	 */
+	private static <T> List<T> inIdOrder(List<Integer> ids, List<T> rows, Function<T, Integer> idOf) {
+		Map<Integer, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+		return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+	}
+
+	/**
+	 * Order for a declared {@link StudentSortField}, with id as the tie-breaker,
+	 * matching the (field, id) index behind it. Unknown fields are rejected with
+	 * IllegalArgumentException rather than passed on to the query.
+	 */
+	private static Sort sortBy(String sortField, String sortDir) {
+		StudentSortField field = StudentSortField.from(sortField);
+		Direction direction = "asc".equals(sortDir) ? Direction.ASC : Direction.DESC;
+		return field == StudentSortField.ID ? Sort.by(direction, "id")
+				: Sort.by(direction, field.getProperty()).and(Sort.by(direction, "id"));
+	}
 }
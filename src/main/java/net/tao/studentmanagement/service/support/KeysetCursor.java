@@ -0,0 +1,65 @@
+package net.tao.studentmanagement.service.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.Value;
+
+/**
+ * Position of a keyset (seek) page: the sort it was issued for, whether it
+ * points forwards or backwards, and the (name, id) key of the boundary row.
+ *
+ * Encoded as URL-safe Base64 so the client treats it as an opaque token.
+ */
+@Value
+public class KeysetCursor {
+
+	private static final String SEPARATOR = ":";
+
+	String sortField;
+	String sortDir;
+	boolean backward;
+	Integer id;
+	String name;
+
+	public static KeysetCursor after(String sortField, String sortDir, Integer id, String name) {
+		return new KeysetCursor(sortField, sortDir, false, id, name);
+	}
+
+	public static KeysetCursor before(String sortField, String sortDir, Integer id, String name) {
+		return new KeysetCursor(sortField, sortDir, true, id, name);
+	}
+
+	/**
+	 * A cursor is only valid for the sort it was generated under; switching the
+	 * sort restarts from the first page.
+	 */
+	public boolean matches(String sortField, String sortDir) {
+		return this.sortField.equals(sortField) && this.sortDir.equals(sortDir);
+	}
+
+	public String encode() {
+		String raw = String.join(SEPARATOR, sortField, sortDir, backward ? "b" : "a", String.valueOf(id),
+				name == null ? "" : name);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a token produced by {@link #encode()}. Returns null for blank or
+	 * malformed input so that a tampered cursor simply falls back to page one.
+	 */
+	public static KeysetCursor decode(String token) {
+		if (token == null || token.isBlank())
+			return null;
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			// name is last and may itself contain the separator
+			String[] parts = raw.split(SEPARATOR, 5);
+			if (parts.length != 5)
+				return null;
+			return new KeysetCursor(parts[0], parts[1], "b".equals(parts[2]), Integer.valueOf(parts[3]), parts[4]);
+		} catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+}
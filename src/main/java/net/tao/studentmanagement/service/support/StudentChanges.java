@@ -0,0 +1,44 @@
+package net.tao.studentmanagement.service.support;
+
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import net.tao.studentmanagement.dto.StudentRequestDto;
+
+/**
+ * Works out which fields an edit form submission actually changes, by
+ * comparing it with the values the form was rendered with, so the update can
+ * write only those columns without reading the row first.
+ *
+ * Follows the same rules as {@code StudentMapper.updateEntityFromDto}: an empty
+ * (null) text field leaves the stored value alone, while the date of birth is
+ * always taken as submitted.
+ */
+public final class StudentChanges {
+
+	/** Fields a partial update may change. */
+	public static final Set<String> FIELDS = Set.of("name", "address", "gender", "dob", "email", "mobile", "phone");
+
+	private StudentChanges() {
+	}
+
+	public static Set<String> between(StudentRequestDto original, StudentRequestDto submitted) {
+		Set<String> changed = new LinkedHashSet<>();
+		compare(changed, "name", original.getName(), submitted.getName());
+		compare(changed, "address", original.getAddress(), submitted.getAddress());
+		compare(changed, "gender", original.getGender(), submitted.getGender());
+		compare(changed, "email", original.getEmail(), submitted.getEmail());
+		compare(changed, "mobile", original.getMobile(), submitted.getMobile());
+		compare(changed, "phone", original.getPhone(), submitted.getPhone());
+
+		if (!Objects.equals(original.getDob(), submitted.getDob()))
+			changed.add("dob");
+		return changed;
+	}
+
+	private static void compare(Set<String> changed, String field, String original, String submitted) {
+		if (submitted != null && !submitted.equals(original))
+			changed.add(field);
+	}
+}
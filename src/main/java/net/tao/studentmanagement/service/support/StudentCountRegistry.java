@@ -0,0 +1,98 @@
+package net.tao.studentmanagement.service.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tao.studentmanagement.event.StudentChangedEvent;
+import net.tao.studentmanagement.repository.StudentRepository;
+import net.tao.studentmanagement.repository.support.ReplicaRoutingDataSource;
+
+/**
+ * Keeps the total number of students in memory so that list rendering and
+ * post-create redirects do not run COUNT(*) on every request.
+ *
+ * The value is seeded from the database once at startup, adjusted after each
+ * committed create/delete, and periodically reconciled to correct any drift
+ * from writes that bypass the service layer. Counts are read from the
+ * primary: changes are applied as they commit there, and a lagging replica
+ * would count some of them twice.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudentCountRegistry {
+
+	private final StudentRepository studentRepository;
+
+	private final AtomicLong count = new AtomicLong();
+
+	/** Bumped on every applied change; lets reconciliation detect a concurrent write. */
+	private final AtomicLong modifications = new AtomicLong();
+
+	private volatile boolean seeded;
+
+	/**
+	 * Current number of students. Seeds on first use if a request arrives
+	 * before the startup seeding has run.
+	 */
+	public long current() {
+		if (!seeded)
+			seed();
+		return count.get();
+	}
+
+	@EventListener(ApplicationStartedEvent.class)
+	public synchronized void seed() {
+		if (seeded)
+			return;
+		count.set(ReplicaRoutingDataSource.onPrimary(studentRepository::count));
+		seeded = true;
+		log.info("Student count registry seeded with {}", count.get());
+	}
+
+	/**
+	 * Applies a committed change. Runs after commit so a rolled-back insert or
+	 * delete never moves the counter.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStudentChanged(StudentChangedEvent event) {
+		int delta = switch (event.getType()) {
+			case CREATED -> event.getIds().size();
+			case DELETED -> -event.getIds().size();
+			case UPDATED -> 0;
+		};
+		if (delta != 0) {
+			modifications.incrementAndGet();
+			count.addAndGet(delta);
+		}
+	}
+
+	/**
+	 * Re-reads COUNT(*) and replaces the in-memory value. The result is dropped
+	 * if a change was applied while the query ran, since it may already be stale;
+	 * the next run will try again.
+	 */
+	@Scheduled(fixedDelayString = "${app.count.reconcile-interval:PT10M}",
+			initialDelayString = "${app.count.reconcile-interval:PT10M}")
+	@Transactional(readOnly = true)
+	public void reconcile() {
+		long before = modifications.get();
+		long actual = ReplicaRoutingDataSource.onPrimary(studentRepository::count);
+		if (modifications.get() != before) {
+			log.info("Skipping count reconciliation, students changed while counting");
+			return;
+		}
+		long previous = count.getAndSet(actual);
+		seeded = true;
+		if (previous != actual)
+			log.warn("Student count drifted: registry={}, database={}", previous, actual);
+	}
+}
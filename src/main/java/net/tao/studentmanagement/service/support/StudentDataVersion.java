@@ -0,0 +1,49 @@
+package net.tao.studentmanagement.service.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import net.tao.studentmanagement.event.StudentChangedEvent;
+import net.tao.studentmanagement.repository.support.ReplicaRoutingDataSource;
+
+/**
+ * Version of the student table as a whole, used as the validator for list
+ * page ETags. Any committed create, update or delete moves it forward.
+ *
+ * It starts from the startup time rather than zero, so ETags handed out by a
+ * previous run (possibly with different templates or data) never match.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentDataVersion {
+
+	private final ObjectProvider<ReplicaRoutingDataSource> routing;
+
+	private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+	private volatile long changedAt;
+
+	public long current() {
+		return version.get();
+	}
+
+	/**
+	 * Whether list reads on this thread reflect {@link #current()}. With read
+	 * replicas, a replica may not have the latest change for a while; pages
+	 * read meanwhile must not be tagged or cached under the new version.
+	 */
+	public boolean isSettled() {
+		ReplicaRoutingDataSource replicas = routing.getIfAvailable();
+		return replicas == null || !replicas.mayBeBehind(changedAt);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStudentChanged(StudentChangedEvent event) {
+		changedAt = System.currentTimeMillis();
+		version.incrementAndGet();
+	}
+}
@@ -0,0 +1,103 @@
+package net.tao.studentmanagement.service.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tao.studentmanagement.dto.StudentResponseDto;
+import net.tao.studentmanagement.event.StudentChangedEvent;
+import net.tao.studentmanagement.repository.support.ReplicaRoutingDataSource;
+
+/**
+ * Maintenance for the read-through cache in front of student detail lookups.
+ *
+ * Entries are dropped after an update or delete commits, so the next read
+ * always sees the committed row. A load that raced such a change may have read
+ * the old row and only put it after the eviction ran; every change bumps a
+ * generation, and {@link #put} refuses loads that started in an older one.
+ * With read replicas, it also refuses loads that a replica may have answered
+ * before catching up with the last change.
+ * Size and TTL limits come from {@code spring.cache.caffeine.spec}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudentDetailCache {
+
+	public static final String NAME = "studentDetails";
+
+	private final CacheManager cacheManager;
+	private final ObjectProvider<ReplicaRoutingDataSource> routing;
+
+	private final AtomicLong generation = new AtomicLong();
+	private volatile long changedAt;
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStudentChanged(StudentChangedEvent event) {
+		if (event.getType() == StudentChangedEvent.Type.CREATED)
+			return;
+		changedAt = System.currentTimeMillis();
+		generation.incrementAndGet();
+		Cache cache = cacheManager.getCache(NAME);
+		if (cache != null)
+			event.getIds().forEach(cache::evict);
+	}
+
+	/**
+	 * Cached details of one student, or null when not cached.
+	 */
+	public StudentResponseDto get(Integer id) {
+		Cache cache = cacheManager.getCache(NAME);
+		return cache == null ? null : cache.get(id, StudentResponseDto.class);
+	}
+
+	/** To be taken before loading a student that is then {@link #put}. */
+	public long generation() {
+		return generation.get();
+	}
+
+	/**
+	 * Caches details loaded after {@link #generation()} returned loadedIn. If a
+	 * student was updated or deleted meanwhile, the entry is not kept: the load
+	 * may predate that change while its eviction has already run. Nor is it
+	 * kept while it may come from a replica that is behind.
+	 */
+	public void put(StudentResponseDto student, long loadedIn) {
+		Cache cache = cacheManager.getCache(NAME);
+		ReplicaRoutingDataSource replicas = routing.getIfAvailable();
+		if (cache == null || generation.get() != loadedIn || (replicas != null && replicas.mayBeBehind(changedAt)))
+			return;
+		cache.put(student.getId(), student);
+		// A change committing between the check and the put evicted before it
+		if (generation.get() != loadedIn)
+			cache.evict(student.getId());
+	}
+
+	/**
+	 * Hit/miss/eviction counters of the underlying Caffeine cache, or
+	 * {@link CacheStats#empty()} when another cache provider is in use.
+	 */
+	public CacheStats statistics() {
+		Cache cache = cacheManager.getCache(NAME);
+		if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine)
+			return caffeine.stats();
+		return CacheStats.empty();
+	}
+
+	@Scheduled(fixedDelayString = "${app.cache.stats-log-interval:PT5M}",
+			initialDelayString = "${app.cache.stats-log-interval:PT5M}")
+	public void logStatistics() {
+		CacheStats stats = statistics();
+		log.info("Student detail cache: hits={}, misses={}, hitRate={}, evictions={}", stats.hitCount(),
+				stats.missCount(), String.format("%.2f", stats.hitRate()), stats.evictionCount());
+	}
+}
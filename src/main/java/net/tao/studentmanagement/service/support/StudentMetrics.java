@@ -0,0 +1,47 @@
+package net.tao.studentmanagement.service.support;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Application meters that are not tied to a single method call.
+ */
+@Component
+public class StudentMetrics {
+
+	private final DistributionSummary searchResults;
+	private final Timer detailLoads;
+
+	public StudentMetrics(MeterRegistry registry) {
+		this.searchResults = DistributionSummary.builder("student.search.results")
+				.description("Students matching a name search")
+				.baseUnit("students")
+				.publishPercentileHistogram()
+				.minimumExpectedValue(1.0)
+				.maximumExpectedValue(1_000_000.0)
+				.register(registry);
+		this.detailLoads = Timer.builder("student.detail.load")
+				.description("Student detail lookups that missed the cache")
+				.publishPercentileHistogram()
+				.register(registry);
+	}
+
+	/**
+	 * Records the total number of matches of one search, not the page size.
+	 */
+	public void recordSearchResults(long matches) {
+		searchResults.record(matches);
+	}
+
+	/**
+	 * Records one detail lookup that went to the database, found or not.
+	 */
+	public void recordDetailLoad(long nanos) {
+		detailLoads.record(nanos, TimeUnit.NANOSECONDS);
+	}
+}
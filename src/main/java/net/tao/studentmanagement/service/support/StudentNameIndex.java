@@ -0,0 +1,484 @@
+package net.tao.studentmanagement.service.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tao.studentmanagement.dto.PageResult;
+import net.tao.studentmanagement.event.StudentChangedEvent;
+import net.tao.studentmanagement.repository.StudentNameView;
+import net.tao.studentmanagement.repository.StudentRepository;
+import net.tao.studentmanagement.repository.support.ReplicaRoutingDataSource;
+
+/**
+ * In-memory trigram index over student names, used to answer case-insensitive
+ * substring searches without a full table scan.
+ *
+ * Every name is split into its distinct three-character grams; each gram maps
+ * to a posting of the names containing it, held both in id order and in
+ * (name, id) order. A keyword is resolved by walking the smallest posting of
+ * its grams in the requested order, keeping the ids present in the others
+ * and, for keywords longer than one gram, confirming the substring; the walk
+ * stops once the page is filled. Keywords shorter than a gram are not served
+ * (see {@link #canSearch}). Matching uses upper-casing, mirroring the SQL
+ * {@code upper(name) like upper('%kw%')} it replaces.
+ *
+ * The posting of all names also gives the position of a student in either
+ * order by binary search (see {@link #ordinalOf}). Keeping postings sorted
+ * costs an array shift per change; new ids are appended in id order.
+ *
+ * The index is built once at startup, by sorting every name once and then
+ * filling each posting in order, and kept current from committed
+ * {@link StudentChangedEvent}s. Until it is built, {@link #isReady()} is false
+ * and callers fall back to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StudentNameIndex {
+
+	private static final int GRAM = 3;
+
+	private final StudentRepository studentRepository;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private Map<String, Posting> postings = new HashMap<>();
+	private Map<Integer, Entry> entries = new HashMap<>();
+	private Posting all = new Posting();
+
+	/** Changes committed while a build reads the table, replayed onto its result. */
+	private final List<StudentChangedEvent> pending = new ArrayList<>();
+	private boolean building;
+
+	private volatile boolean ready;
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	/** Only id and name order can be produced from the index alone. */
+	public static boolean supportsSort(String sortField) {
+		return "id".equals(sortField) || "name".equals(sortField);
+	}
+
+	/**
+	 * Whether {@link #count} and {@link #page} can answer a search for the
+	 * keyword: the index is built and the keyword has at least one gram.
+	 * Shorter keywords match most names, so they gain little from an index
+	 * and are left to the database.
+	 */
+	public boolean canSearch(String keyword) {
+		return ready && keyword != null && keyword.length() >= GRAM;
+	}
+
+	/**
+	 * Loads every (id, name) pair and builds the postings off to the side, then
+	 * swaps them in. The write lock is only taken to start and to publish, so
+	 * changes committing meanwhile are not held up; they are queued and
+	 * replayed onto the new postings, which is safe as applying a change twice
+	 * has the same effect as once.
+	 */
+	@EventListener(ApplicationStartedEvent.class)
+	@Transactional(readOnly = true)
+	public void build() {
+		lock.writeLock().lock();
+		try {
+			building = true;
+			pending.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		List<Entry> loaded = new ArrayList<>();
+		// from the primary, which the change events below describe
+		ReplicaRoutingDataSource.runOnPrimary(() -> {
+			try (Stream<StudentNameView> rows = studentRepository.streamAllNames()) {
+				rows.filter(row -> row.getName() != null)
+						.forEach(row -> loaded.add(new Entry(row.getId(), row.getName(), normalize(row.getName()))));
+			}
+		});
+
+		// filled in name order, each gram's names come out sorted; only its ids need sorting
+		Entry[] byName = loaded.toArray(Entry[]::new);
+		Arrays.sort(byName, BY_NAME);
+		Map<String, List<Entry>> grouped = new HashMap<>();
+		Map<Integer, Entry> builtEntries = new HashMap<>(byName.length * 4 / 3 + 1);
+		for (Entry entry : byName) {
+			builtEntries.put(entry.id, entry);
+			for (String gram : grams(entry.normalized))
+				grouped.computeIfAbsent(gram, g -> new ArrayList<>()).add(entry);
+		}
+		Map<String, Posting> builtPostings = new HashMap<>(grouped.size() * 4 / 3 + 1);
+		grouped.forEach((gram, names) -> builtPostings.put(gram, new Posting(names.toArray(Entry[]::new))));
+		Posting builtAll = new Posting(byName);
+
+		lock.writeLock().lock();
+		try {
+			postings = builtPostings;
+			entries = builtEntries;
+			all = builtAll;
+			pending.forEach(this::apply);
+			log.info("Student name index built: {} names, {} grams, {} changes replayed", entries.size(),
+					postings.size(), pending.size());
+			pending.clear();
+			building = false;
+			ready = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onStudentChanged(StudentChangedEvent event) {
+		lock.writeLock().lock();
+		try {
+			if (building)
+				pending.add(event);
+			apply(event);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** Number of students whose name contains the keyword; see {@link #canSearch}. */
+	public long count(String keyword) {
+		String normalized = searchable(keyword);
+		lock.readLock().lock();
+		try {
+			return count(postingsFor(normalized), normalized);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Ids of one page of matches, ordered by id or by (name, id). A page past
+	 * the end is clamped to the last page, as the database query does.
+	 *
+	 * Matches are read in order off a posting, so only the matches up to the
+	 * end of the page are visited; the total is counted without collecting
+	 * or sorting them.
+	 */
+	public PageResult<Integer> page(String keyword, int page, int size, String sortField, String sortDir) {
+		if (!supportsSort(sortField))
+			throw new IllegalArgumentException("Index cannot sort by " + sortField);
+
+		String normalized = searchable(keyword);
+		boolean byName = "name".equals(sortField);
+		boolean asc = "asc".equals(sortDir);
+		lock.readLock().lock();
+		try {
+			List<Posting> lists = postingsFor(normalized);
+			long total = count(lists, normalized);
+			int clamped = total == 0 ? 0 : (int) Math.min(page, (total - 1) / size);
+			List<Integer> slice = new ArrayList<>(size);
+			if (total > 0) {
+				Posting first = lists.get(0);
+				int n = first.size();
+				// an exact posting holds nothing but matches, so the page starts at a known position
+				boolean exact = isExact(normalized);
+				int skip = exact ? 0 : clamped * size;
+				for (int i = exact ? clamped * size : 0; i < n && slice.size() < size; i++) {
+					int id = first.idAt(asc ? i : n - 1 - i, byName);
+					if (!exact && !matches(id, lists, normalized))
+						continue;
+					if (skip > 0)
+						skip--;
+					else
+						slice.add(id);
+				}
+			}
+			return new PageResult<>(List.copyOf(slice), clamped, size, total);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Zero-based position the given student has, or would have once its
+	 * creation commits, in the full list ordered by id or by (name, id). No
+	 * query is needed: both come from a binary search of the posting of all
+	 * names. Only those two sorts are supported.
+	 */
+	public long ordinalOf(int id, String name, String sortField, String sortDir) {
+		if (!supportsSort(sortField))
+			throw new IllegalArgumentException("Index cannot sort by " + sortField);
+
+		lock.readLock().lock();
+		try {
+			long before;
+			if ("name".equals(sortField)) {
+				Entry key = new Entry(id, name, null);
+				Entry own = entries.get(id);
+				before = all.names.rank(key) - (own != null && BY_NAME.compare(own, key) < 0 ? 1 : 0);
+			} else {
+				before = all.ids.rank(id);
+			}
+			long total = entries.size() + (entries.containsKey(id) ? 0 : 1);
+			return "asc".equals(sortDir) ? before : total - 1 - before;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static String normalize(String value) {
+		return value == null ? "" : value.toUpperCase(Locale.ROOT);
+	}
+
+	private static String searchable(String keyword) {
+		String normalized = normalize(keyword);
+		if (normalized.length() < GRAM)
+			throw new IllegalArgumentException("Index cannot search for keywords shorter than " + GRAM);
+		return normalized;
+	}
+
+	private static Set<String> grams(String normalized) {
+		Set<String> grams = new LinkedHashSet<>();
+		for (int i = 0; i + GRAM <= normalized.length(); i++)
+			grams.add(normalized.substring(i, i + GRAM));
+		return grams;
+	}
+
+	/** A single gram is an exact answer; longer keywords need the substring check. */
+	private static boolean isExact(String keyword) {
+		return keyword.length() == GRAM;
+	}
+
+	/**
+	 * Postings whose intersection holds every match, smallest first; empty when
+	 * nothing can match. Caller holds the read lock.
+	 */
+	private List<Posting> postingsFor(String keyword) {
+		List<Posting> lists = new ArrayList<>();
+		for (String gram : grams(keyword)) {
+			Posting posting = postings.get(gram);
+			if (posting == null)
+				return List.of();
+			lists.add(posting);
+		}
+		lists.sort(Comparator.comparingInt(Posting::size));
+		return lists;
+	}
+
+	/** Whether an id of the first posting is a match. Caller holds the read lock. */
+	private boolean matches(int id, List<Posting> lists, String keyword) {
+		for (int j = 1; j < lists.size(); j++) {
+			if (!lists.get(j).ids.contains(id))
+				return false;
+		}
+		// sharing every gram does not make the keyword a substring
+		return isExact(keyword) || entries.get(id).normalized.contains(keyword);
+	}
+
+	/** Caller holds the read lock. */
+	private long count(List<Posting> lists, String keyword) {
+		if (lists.isEmpty())
+			return 0;
+		Posting first = lists.get(0);
+		if (isExact(keyword))
+			return first.size();
+		long count = 0;
+		for (int i = 0; i < first.size(); i++) {
+			if (matches(first.ids.get(i), lists, keyword))
+				count++;
+		}
+		return count;
+	}
+
+	/** Caller holds the write lock. */
+	private void apply(StudentChangedEvent event) {
+		switch (event.getType()) {
+			case CREATED, UPDATED -> event.getNames().forEach((id, name) -> {
+				remove(id);
+				add(id, name);
+			});
+			case DELETED -> event.getIds().forEach(this::remove);
+		}
+	}
+
+	/** Caller holds the write lock. */
+	private void add(Integer id, String name) {
+		if (name == null)
+			return;
+		Entry entry = new Entry(id, name, normalize(name));
+		entries.put(id, entry);
+		all.add(entry);
+		for (String gram : grams(entry.normalized))
+			postings.computeIfAbsent(gram, g -> new Posting()).add(entry);
+	}
+
+	/** Caller holds the write lock. */
+	private void remove(Integer id) {
+		Entry old = entries.remove(id);
+		if (old == null)
+			return;
+		all.remove(old);
+		for (String gram : grams(old.normalized)) {
+			Posting posting = postings.get(gram);
+			if (posting != null && posting.remove(old))
+				postings.remove(gram);
+		}
+	}
+
+	private record Entry(int id, String name, String normalized) {
+	}
+
+	/** The list's name order: by name, ties broken by id. */
+	private static final Comparator<Entry> BY_NAME = Comparator.comparing(Entry::name).thenComparingInt(Entry::id);
+
+	/** The names containing one gram, in both orders the list can be sorted by. */
+	private static final class Posting {
+
+		private final IdList ids;
+		private final NameList names;
+
+		Posting() {
+			ids = new IdList(new int[4], 0);
+			names = new NameList(new Entry[4], 0);
+		}
+
+		/** Takes over entries already in (name, id) order. */
+		Posting(Entry[] inNameOrder) {
+			int[] sorted = new int[inNameOrder.length];
+			for (int i = 0; i < sorted.length; i++)
+				sorted[i] = inNameOrder[i].id;
+			Arrays.sort(sorted);
+			ids = new IdList(sorted, sorted.length);
+			names = new NameList(inNameOrder, inNameOrder.length);
+		}
+
+		int size() {
+			return ids.size();
+		}
+
+		/** Id at the given position in (name, id) order, or in id order. */
+		int idAt(int index, boolean byName) {
+			return byName ? names.get(index).id : ids.get(index);
+		}
+
+		void add(Entry entry) {
+			ids.add(entry.id);
+			names.add(entry);
+		}
+
+		/** Removes the entry and tells whether the posting is now empty. */
+		boolean remove(Entry entry) {
+			ids.remove(entry.id);
+			names.remove(entry);
+			return ids.size() == 0;
+		}
+	}
+
+	/**
+	 * Sorted, growable list of primitive ids. New students get increasing ids,
+	 * so adds are almost always appends.
+	 */
+	private static final class IdList {
+
+		private int[] ids;
+		private int size;
+
+		IdList(int[] sorted, int size) {
+			this.ids = sorted.length == 0 ? new int[4] : sorted;
+			this.size = size;
+		}
+
+		int size() {
+			return size;
+		}
+
+		int get(int index) {
+			return ids[index];
+		}
+
+		boolean contains(int id) {
+			return Arrays.binarySearch(ids, 0, size, id) >= 0;
+		}
+
+		/** Number of ids below the given one. */
+		int rank(int id) {
+			int pos = Arrays.binarySearch(ids, 0, size, id);
+			return pos >= 0 ? pos : -(pos + 1);
+		}
+
+		void add(int id) {
+			int pos = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+			if (pos >= 0)
+				return;
+			int insertAt = -(pos + 1);
+			if (size == ids.length)
+				ids = Arrays.copyOf(ids, size * 2);
+			System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+			ids[insertAt] = id;
+			size++;
+		}
+
+		boolean remove(int id) {
+			int pos = Arrays.binarySearch(ids, 0, size, id);
+			if (pos < 0)
+				return false;
+			System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+			size--;
+			return true;
+		}
+	}
+
+	/** Entries kept sorted by {@link #BY_NAME}; a rank is one binary search. */
+	private static final class NameList {
+
+		private Entry[] entries;
+		private int size;
+
+		NameList(Entry[] sorted, int size) {
+			this.entries = sorted.length == 0 ? new Entry[4] : sorted;
+			this.size = size;
+		}
+
+		Entry get(int index) {
+			return entries[index];
+		}
+
+		/** Number of entries ordered before the given one. */
+		int rank(Entry entry) {
+			int pos = Arrays.binarySearch(entries, 0, size, entry, BY_NAME);
+			return pos >= 0 ? pos : -(pos + 1);
+		}
+
+		void add(Entry entry) {
+			int pos = Arrays.binarySearch(entries, 0, size, entry, BY_NAME);
+			if (pos >= 0)
+				return;
+			int insertAt = -(pos + 1);
+			if (size == entries.length)
+				entries = Arrays.copyOf(entries, size * 2);
+			System.arraycopy(entries, insertAt, entries, insertAt + 1, size - insertAt);
+			entries[insertAt] = entry;
+			size++;
+		}
+
+		void remove(Entry entry) {
+			int pos = Arrays.binarySearch(entries, 0, size, entry, BY_NAME);
+			if (pos < 0)
+				return;
+			System.arraycopy(entries, pos + 1, entries, pos, size - pos - 1);
+			entries[--size] = null;
+		}
+	}
+}
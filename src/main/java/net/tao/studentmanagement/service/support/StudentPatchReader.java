@@ -0,0 +1,66 @@
+package net.tao.studentmanagement.service.support;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import net.tao.studentmanagement.dto.StudentRequestDto;
+
+/**
+ * Turns a JSON partial-update body, e.g. {@code {"version": 3, "mobile": "0123"}},
+ * into the arguments of {@code StudentService.patchStudent}. Only the fields
+ * present are checked, against the same constraints as
+ * {@link StudentRequestDto}; a field set to null means "clear it".
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentPatchReader {
+
+	private static final String VERSION = "version";
+
+	private final ObjectMapper objectMapper;
+	private final Validator validator;
+
+	/** A parsed partial update; it must be rejected when {@code errors} is not empty. */
+	public record Patch(long version, StudentRequestDto values, Set<String> fields, Map<String, String> errors) {
+
+		public boolean isValid() {
+			return errors.isEmpty();
+		}
+	}
+
+	public Patch read(Map<String, Object> body) {
+		Map<String, Object> fields = new LinkedHashMap<>(body);
+		Object version = fields.remove(VERSION);
+		if (!(version instanceof Number number))
+			return rejected(Map.of(VERSION, "Current version is required"));
+
+		StudentRequestDto values;
+		try {
+			values = objectMapper.convertValue(fields, StudentRequestDto.class);
+		} catch (IllegalArgumentException e) {
+			return rejected(Map.of("body", "Malformed field value"));
+		}
+
+		Map<String, String> errors = new LinkedHashMap<>();
+		for (String field : fields.keySet()) {
+			if (!StudentChanges.FIELDS.contains(field))
+				errors.put(field, "Unknown field");
+			else
+				validator.validateProperty(values, field).stream().map(ConstraintViolation::getMessage).sorted()
+						.findFirst().ifPresent(message -> errors.put(field, message));
+		}
+		return new Patch(number.longValue(), values, Set.copyOf(fields.keySet()), errors);
+	}
+
+	private static Patch rejected(Map<String, String> errors) {
+		return new Patch(0, null, Set.of(), errors);
+	}
+}
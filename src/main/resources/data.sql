@@ -1,22 +1,29 @@
 -- DDL
 -- STUDENT TABLE
 
+CREATE SEQUENCE IF NOT EXISTS student_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS Student (
-    id INT AUTO_INCREMENT PRIMARY KEY,
+    id INT DEFAULT NEXT VALUE FOR student_seq PRIMARY KEY,
     name VARCHAR(45) NOT NULL,
     address VARCHAR(45),
     gender CHAR(1) DEFAULT 'M',
     dob TIMESTAMP,
     email VARCHAR(45),
     mobile VARCHAR(15),
-    phone VARCHAR(15)
+    phone VARCHAR(15),
+    version BIGINT DEFAULT 0 NOT NULL
 );
 
+-- one index per sortable column (StudentSortField), with id as tie-breaker
+CREATE INDEX IF NOT EXISTS idx_student_name_id ON Student (name, id);
+CREATE INDEX IF NOT EXISTS idx_student_dob_id ON Student (dob, id);
+
 
 -- DML
 -- STUDENT SAMPLE DATA
 
-INSERT INTO Student (name, address, gender, dob, email, mobile, phone) VALUES
-('Alice', 'Texas', 'M', '1990-05-15 00:00:00', 'alice@test.com', '076543210', '044123456'),
-('Elisa', 'Washington', 'F', '1993-10-02 00:00:00', 'bob@test.com', '0123456789', NULL);
+INSERT INTO Student (id, name, address, gender, dob, email, mobile, phone) VALUES
+(NEXT VALUE FOR student_seq, 'Alice', 'Texas', 'M', '1990-05-15 00:00:00', 'alice@test.com', '076543210', '044123456'),
+(NEXT VALUE FOR student_seq, 'Elisa', 'Washington', 'F', '1993-10-02 00:00:00', 'bob@test.com', '0123456789', NULL);
 
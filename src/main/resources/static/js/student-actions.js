@@ -1,30 +1,125 @@
 $(document).ready(function () {
 
+    // bring a just-created student's row into view
+    let highlighted = document.querySelector(".row-highlight");
+    if (highlighted) {
+        highlighted.scrollIntoView({ block: "center" });
+    }
+
     $('#deleteModal').on('show.bs.modal', function (event) {
         let id = $(event.relatedTarget).data('id');
         let page = $(event.relatedTarget).data('page');
 
-        $(this).find('#deleteForm').attr('action', '/students/' + id + '/delete?page=' + page);
+        $(this).find('#deleteForm').attr('action', '/students/' + id + '/delete?page=' + page).data('id', id);
+    });
+
+    function updateBulkDelete() {
+        let selected = $(".row-select:checked").length;
+        $("#bulkDeleteBtn").prop("disabled", selected === 0);
+        $("#bulkDeleteCount").text(selected);
+        $("#selectAll").prop("checked", selected > 0 && selected === $(".row-select").length);
+    }
+
+    // table rows are swapped after deletes, so listen on the document
+    $(document).on("change", "#selectAll", function () {
+        $(".row-select").prop("checked", this.checked);
+        updateBulkDelete();
     });
 
-    $(".viewBtn").click(function () {
+    $(document).on("change", ".row-select", updateBulkDelete);
+
+    // View Modal data for the visible rows, fetched in one request after load
+    const DETAILS_BATCH_SIZE = 100; // app.details.max-batch-size
+    let details = {};
+
+    function prefetchDetails() {
+        let ids = $(".viewBtn").map(function () { return $(this).data("id"); }).get()
+            .filter(function (id) { return !details[id]; });
+        for (let i = 0; i < ids.length; i += DETAILS_BATCH_SIZE) {
+            $.getJSON("/students/details", { ids: ids.slice(i, i + DETAILS_BATCH_SIZE).join(",") }, function (students) {
+                students.forEach(function (student) {
+                    details[student.id] = student;
+                });
+            });
+        }
+    }
+
+    prefetchDetails();
+
+    function showDetails(student) {
+        $("#vId").text(student.id);
+        $("#vName").text(student.name);
+        $("#vGender").text(student.gender);
+        $("#vDob").text(student.dob);
+        $("#vEmail").text(student.email);
+        $("#vMobile").text(student.mobile);
+        $("#vPhone").text(student.phone);
+
+        new bootstrap.Modal(document.getElementById('viewModal')).show();
+    }
+
+    $(document).on("click", ".viewBtn", function () {
         let id = $(this).data("id");
 
+        if (details[id]) {
+            showDetails(details[id]);
+            return;
+        }
+
         $.ajax({
             url: "/students/" + id + "/details",
             type: "GET",
             success: function (student) {
-                $("#vId").text(student.id);
-                $("#vName").text(student.name);
-                $("#vGender").text(student.gender);
-                $("#vDob").text(student.dob);
-                $("#vEmail").text(student.email);
-                $("#vMobile").text(student.mobile);
-                $("#vPhone").text(student.phone);
-
-                new bootstrap.Modal(document.getElementById('viewModal')).show();
+                details[id] = student;
+                showDetails(student);
             }
         });
     });
 
+    // Deletes from the list page: the server answers with the refreshed table
+    // and pager only, which replace the current ones in place.
+    function deleteInline(url, ids, modal) {
+        let params = new URLSearchParams(window.location.search);
+        params.delete("highlight");
+        params.delete("jump");
+        params.set("page", $("#studentListContent").data("page") || 0);
+        ids.forEach(function (id) {
+            params.append("ids", id);
+        });
+
+        $.ajax({
+            url: url + "?" + params.toString(),
+            type: "DELETE",
+            headers: { "X-Requested-With": "XMLHttpRequest" },
+            success: function (html, status, xhr) {
+                bootstrap.Modal.getOrCreateInstance(document.getElementById(modal)).hide();
+                $("#studentListContent").replaceWith(html);
+                updateBulkDelete();
+                prefetchDetails();
+
+                let message = xhr.getResponseHeader("X-Success-Message");
+                if (message) {
+                    $("#successMessage").text(message);
+                    new bootstrap.Toast($("#successToast")[0]).show();
+                }
+            },
+            error: function () {
+                bootstrap.Modal.getOrCreateInstance(document.getElementById(modal)).hide();
+                $("#errorMessage").text("Delete failed. Please reload the page and try again.");
+                new bootstrap.Toast($("#errorToast")[0]).show();
+            }
+        });
+    }
+
+    $("#deleteForm").submit(function (event) {
+        event.preventDefault();
+        deleteInline("/students/" + $(this).data("id") + "/delete", [], "deleteModal");
+    });
+
+    $("#bulkDeleteForm").submit(function (event) {
+        event.preventDefault();
+        let ids = $(".row-select:checked").map(function () { return this.value; }).get();
+        deleteInline("/students/delete", ids, "bulkDeleteModal");
+    });
+
 });
@@ -0,0 +1,140 @@
+package net.tao.studentmanagement.startup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures cold start as clients see it: the time from launching the JVM to
+ * the first 200 response from {@code /students/list}. Each launch variant is
+ * started several times in turn and the min/median/max are reported, with
+ * the speed-up over the first variant and over the one listed before it.
+ *
+ * Settings are system properties (see the fast-startup Maven profile):
+ * <ul>
+ * <li>{@code startup.variants}: comma-separated variant names</li>
+ * <li>{@code startup.command.<variant>}: launch command, split on whitespace;
+ * {@code --server.port} is appended</li>
+ * <li>{@code startup.runs} (5), {@code startup.port} (18080),
+ * {@code startup.timeout} (PT3M), {@code startup.report}
+ * (target/startup/report.txt)</li>
+ * </ul>
+ * Each run's console output goes next to the report.
+ */
+public final class StartupTimeProbe {
+
+	private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+	private final int runs;
+	private final int port;
+	private final Duration timeout;
+	private final Path report;
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+	private StartupTimeProbe(int runs, int port, Duration timeout, Path report) {
+		this.runs = runs;
+		this.port = port;
+		this.timeout = timeout;
+		this.report = report;
+	}
+
+	public static void main(String[] args) throws Exception {
+		StartupTimeProbe probe = new StartupTimeProbe(
+				Integer.getInteger("startup.runs", 5),
+				Integer.getInteger("startup.port", 18080),
+				Duration.parse(System.getProperty("startup.timeout", "PT3M")),
+				Path.of(System.getProperty("startup.report", "target/startup/report.txt")));
+
+		Map<String, List<String>> commands = new LinkedHashMap<>();
+		for (String variant : System.getProperty("startup.variants", "").split(",")) {
+			String command = System.getProperty("startup.command." + variant.trim());
+			if (command == null || command.isBlank())
+				throw new IllegalArgumentException("No startup.command." + variant.trim() + " given");
+			commands.put(variant.trim(), List.of(command.trim().split("\\s+")));
+		}
+		probe.run(commands);
+	}
+
+	private void run(Map<String, List<String>> commands) throws IOException, InterruptedException {
+		Files.createDirectories(report.toAbsolutePath().getParent());
+
+		// alternate the variants so a noisy period does not hit just one of them
+		Map<String, long[]> millis = new LinkedHashMap<>();
+		commands.keySet().forEach(variant -> millis.put(variant, new long[runs]));
+		for (int run = 0; run < runs; run++) {
+			for (var entry : commands.entrySet()) {
+				long elapsed = timeToFirstList(entry.getKey(), run, entry.getValue());
+				millis.get(entry.getKey())[run] = elapsed;
+				System.out.printf("%-12s run %d: %d ms%n", entry.getKey(), run + 1, elapsed);
+			}
+		}
+
+		List<String> lines = new ArrayList<>();
+		lines.add("Time to first successful GET /students/list, " + runs + " runs each (ms)");
+		lines.add(String.format("%-12s %8s %8s %8s %8s %8s", "variant", "min", "median", "max", "vs first",
+				"vs prev"));
+		long baseline = -1;
+		long previous = -1;
+		for (var entry : millis.entrySet()) {
+			long[] sorted = entry.getValue().clone();
+			Arrays.sort(sorted);
+			long median = sorted[sorted.length / 2];
+			if (baseline < 0)
+				baseline = previous = median;
+			lines.add(String.format("%-12s %8d %8d %8d %7.2fx %7.2fx", entry.getKey(), sorted[0], median,
+					sorted[sorted.length - 1], (double) baseline / median, (double) previous / median));
+			previous = median;
+		}
+		Files.write(report, lines);
+		lines.forEach(System.out::println);
+	}
+
+	private long timeToFirstList(String variant, int run, List<String> command)
+			throws IOException, InterruptedException {
+		List<String> launch = new ArrayList<>(command);
+		launch.add("--server.port=" + port);
+		HttpRequest list = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/students/list"))
+				.timeout(Duration.ofSeconds(5))
+				.build();
+
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(launch)
+				.redirectErrorStream(true)
+				.redirectOutput(report.resolveSibling(variant + "-" + (run + 1) + ".log").toFile())
+				.start();
+		try {
+			long deadline = start + timeout.toNanos();
+			while (System.nanoTime() < deadline) {
+				if (!process.isAlive())
+					throw new IllegalStateException(variant + " exited with " + process.exitValue() + " before serving");
+				if (isOk(list))
+					return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+				Thread.sleep(POLL_INTERVAL.toMillis());
+			}
+			throw new IllegalStateException(variant + " did not serve /students/list within " + timeout);
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS))
+				process.destroyForcibly().waitFor();
+		}
+	}
+
+	private boolean isOk(HttpRequest request) throws InterruptedException {
+		try {
+			return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+		} catch (IOException e) {
+			return false; // not listening yet
+		}
+	}
+}
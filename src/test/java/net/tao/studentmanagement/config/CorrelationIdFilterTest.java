@@ -0,0 +1,61 @@
+package net.tao.studentmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class CorrelationIdFilterTest {
+
+	private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+	/** Runs the filter and returns the MDC value seen inside the chain. */
+	private String run(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+		AtomicReference<String> seen = new AtomicReference<>();
+		filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse res) {
+				seen.set(MDC.get(CorrelationIdFilter.MDC_KEY));
+			}
+		}));
+		return seen.get();
+	}
+
+	@Test
+	void reusesValidIncomingId() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/students/list");
+		request.addHeader(CorrelationIdFilter.HEADER, "abc-123");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		assertEquals("abc-123", run(request, response));
+		assertEquals("abc-123", response.getHeader(CorrelationIdFilter.HEADER));
+		assertNull(MDC.get(CorrelationIdFilter.MDC_KEY));
+	}
+
+	@Test
+	void generatesIdWhenMissingOrInvalid() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/students/list");
+		request.addHeader(CorrelationIdFilter.HEADER, "bad id\r\ninjected");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		String id = run(request, response);
+
+		assertNotNull(id);
+		assertNotEquals("bad id\r\ninjected", id);
+		assertEquals(id, response.getHeader(CorrelationIdFilter.HEADER));
+		assertEquals(16, id.length());
+		assertNull(MDC.get(CorrelationIdFilter.MDC_KEY));
+	}
+}
@@ -0,0 +1,173 @@
+package net.tao.studentmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.jayway.jsonpath.JsonPath;
+
+import net.tao.studentmanagement.dto.StudentRequestDto;
+import net.tao.studentmanagement.dto.StudentResponseDto;
+import net.tao.studentmanagement.repository.StudentRepository;
+import net.tao.studentmanagement.service.StudentService;
+import net.tao.studentmanagement.service.support.StudentCountRegistry;
+
+/**
+ * Routing against a second H2 database standing in for a replica. Both start
+ * from data.sql (ids 1 and 51) and nothing replicates, so rows written during
+ * a test exist on the primary only and show which database served a read.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:routing_primary",
+		"app.datasource.replicas[0].url=jdbc:h2:mem:routing_replica",
+		"app.datasource.replicas[0].username=sa",
+		"app.datasource.replicas[0].init-scripts=classpath:data.sql",
+		"app.datasource.read-your-writes-window=PT1M" })
+@AutoConfigureMockMvc
+class ReplicaDataSourceConfigTest {
+
+	private static final int LAST_SEEDED_ID = 51;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private StudentCountRegistry countRegistry;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private StudentResponseDto create(String name) {
+		StudentRequestDto dto = new StudentRequestDto();
+		dto.setName(name);
+		dto.setGender("F");
+		return studentService.createStudent(dto);
+	}
+
+	private ResultActions newestStudent(MockHttpSession session) throws Exception {
+		var request = get("/api/v1/students").param("sortDir", "desc").param("size", "1");
+		return mockMvc.perform(session == null ? request : request.session(session)).andExpect(status().isOk());
+	}
+
+	@Test
+	void readOnlyTransactionsUseReplica_writeTransactionsThePrimary() {
+		StudentResponseDto created = create("Written To Primary");
+
+		assertFalse(studentService.getAllStudents().stream().anyMatch(s -> s.getId().equals(created.getId())));
+		Boolean onPrimary = transactionTemplate.execute(status -> studentRepository.existsById(created.getId()));
+		assertTrue(onPrimary);
+	}
+
+	@Test
+	void countRegistryReconcilesAgainstPrimary() {
+		create("Counted On Primary");
+
+		countRegistry.reconcile();
+
+		Long onPrimary = transactionTemplate.execute(status -> studentRepository.count());
+		assertEquals(onPrimary, countRegistry.current());
+	}
+
+	@Test
+	void sessionReadsItsOwnWritesFromPrimary() throws Exception {
+		MockHttpSession session = new MockHttpSession();
+		String body = mockMvc.perform(post("/api/v1/students").session(session)
+				.contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Own Write\",\"gender\":\"F\"}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		int id = JsonPath.read(body, "$.id");
+
+		newestStudent(session).andExpect(jsonPath("$.content[0].id").value(id));
+		newestStudent(null).andExpect(jsonPath("$.content[0].id").value(LAST_SEEDED_ID));
+	}
+
+	@Test
+	void statelessClientReadsItsOwnWritesByEchoingHeader() throws Exception {
+		MvcResult created = mockMvc.perform(post("/api/v1/students").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Stateless Write\",\"gender\":\"M\"}"))
+				.andExpect(status().isCreated()).andReturn();
+		String lastWrite = created.getResponse().getHeader(ReadYourWritesFilter.LAST_WRITE_HEADER);
+		assertNotNull(lastWrite);
+		int id = JsonPath.read(created.getResponse().getContentAsString(), "$.id");
+
+		mockMvc.perform(get("/api/v1/students").param("sortDir", "desc").param("size", "1")
+				.header(ReadYourWritesFilter.LAST_WRITE_HEADER, lastWrite))
+				.andExpect(jsonPath("$.content[0].id").value(id));
+		newestStudent(null).andExpect(jsonPath("$.content[0].id").value(LAST_SEEDED_ID));
+	}
+
+	@Test
+	void sharedCachesKeepNothingAReplicaReturnedBeforeCatchingUp() throws Exception {
+		StudentResponseDto created = create("Not Yet Replicated");
+		String caughtUp = Long.toString(System.currentTimeMillis());
+
+		// a client outside the window reads the replica, which lacks the row
+		mockMvc.perform(get("/api/v1/students/{id}", created.getId())).andExpect(status().isNotFound());
+		mockMvc.perform(get("/students/list").param("sortDir", "desc"))
+				.andExpect(header().doesNotExist("ETag"))
+				.andExpect(content().string(not(containsString("Not Yet Replicated"))));
+
+		// the writer's own reads, on the primary, must not be served what was read above
+		mockMvc.perform(get("/students/list").param("sortDir", "desc")
+				.header(ReadYourWritesFilter.LAST_WRITE_HEADER, caughtUp))
+				.andExpect(content().string(containsString("Not Yet Replicated")));
+	}
+
+	@Test
+	void staleDetailsAreNotCachedAfterAnUpdate() throws Exception {
+		StudentResponseDto created = create("Renamed Later");
+		StudentRequestDto rename = new StudentRequestDto();
+		rename.setName("Renamed Now");
+		rename.setGender("F");
+		studentService.updateStudent(created.getId(), rename);
+		String lastWrite = Long.toString(System.currentTimeMillis());
+
+		mockMvc.perform(get("/api/v1/students/{id}", created.getId())
+				.header(ReadYourWritesFilter.LAST_WRITE_HEADER, lastWrite))
+				.andExpect(jsonPath("$.name").value("Renamed Now"));
+	}
+
+	@Test
+	void futureLastWriteIsIgnored() throws Exception {
+		create("Written Now");
+		String nextYear = Long.toString(System.currentTimeMillis() + 365L * 24 * 3600 * 1000);
+
+		mockMvc.perform(get("/api/v1/students").param("sortDir", "desc").param("size", "1")
+				.header(ReadYourWritesFilter.LAST_WRITE_HEADER, nextYear))
+				.andExpect(jsonPath("$.content[0].id").value(LAST_SEEDED_ID));
+	}
+
+	@Test
+	void sessionBackOnReplicaAfterWindow() throws Exception {
+		create("Written Long Ago");
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(ReadYourWritesFilter.LAST_WRITE, System.currentTimeMillis() - 120_000);
+
+		newestStudent(session).andExpect(jsonPath("$.content[0].id").value(LAST_SEEDED_ID));
+	}
+}
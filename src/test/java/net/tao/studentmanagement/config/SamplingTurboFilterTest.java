@@ -0,0 +1,54 @@
+package net.tao.studentmanagement.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+class SamplingTurboFilterTest {
+
+	private final Logger logger = new LoggerContext().getLogger("test");
+	private SamplingTurboFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		filter = new SamplingTurboFilter();
+		filter.addPrefix("Listing");
+		filter.setRate(3);
+	}
+
+	private FilterReply decide(Level level, String format) {
+		return filter.decide(null, logger, level, format, null, null);
+	}
+
+	@Test
+	void keepsOneInRateOfMatchingInfoMessages() {
+		int kept = 0;
+		for (int i = 0; i < 9; i++) {
+			if (decide(Level.INFO, "Listing students: page={}") == FilterReply.NEUTRAL)
+				kept++;
+		}
+		assertEquals(3, kept);
+	}
+
+	@Test
+	void leavesOtherMessagesAndLevelsAlone() {
+		for (int i = 0; i < 5; i++) {
+			assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Creating student: {}"));
+			assertEquals(FilterReply.NEUTRAL, decide(Level.WARN, "Listing failed"));
+			assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, null));
+		}
+	}
+
+	@Test
+	void rateOfOneKeepsEverything() {
+		filter.setRate(1);
+		for (int i = 0; i < 5; i++)
+			assertEquals(FilterReply.NEUTRAL, decide(Level.INFO, "Listing students"));
+	}
+}
@@ -0,0 +1,101 @@
+package net.tao.studentmanagement.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+@SpringBootTest(properties = { "app.assets.versioned=true", "spring.web.resources.chain.enabled=true" })
+@AutoConfigureMockMvc
+class StaticAssetConfigTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ResourceUrlProvider resourceUrlProvider;
+
+	private String versioned(String path) {
+		return resourceUrlProvider.getForLookupPath(path);
+	}
+
+	/** Runs the immutable-marking resolver over what the rest of the chain resolved. */
+	private static Resource resolve(String requestPath, Resource resolved) {
+		ResourceResolverChain chain = mock(ResourceResolverChain.class);
+		when(chain.resolveResource(null, requestPath, List.of())).thenReturn(resolved);
+		return new StaticAssetConfig.ImmutableVersionResolver().resolveResourceInternal(null, requestPath, List.of(),
+				chain);
+	}
+
+	@Test
+	void scriptsGetContentHashUrls() {
+		String url = versioned("/js/student-actions.js");
+
+		assertTrue(url.matches("/js/student-actions-[0-9a-f]{32}\\.js"), url);
+	}
+
+	@Test
+	void versionedAssetIsCachedForAYear() throws Exception {
+		mockMvc.perform(get(versioned("/css/style.css")))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"));
+	}
+
+	@Test
+	void plainUrlIsRevalidated() throws Exception {
+		mockMvc.perform(get("/css/style.css"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "no-cache"));
+	}
+
+	@Test
+	void precompressedVersionedAssetKeepsItsHeaders() throws IOException {
+		HttpResource gzipped = mock(HttpResource.class);
+		when(gzipped.getFilename()).thenReturn("app.js");
+		when(gzipped.getContentAsByteArray()).thenReturn(new byte[] { 1 });
+		HttpHeaders encoding = new HttpHeaders();
+		encoding.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+		when(gzipped.getResponseHeaders()).thenReturn(encoding);
+
+		HttpHeaders headers = ((HttpResource) resolve("app-0123.js", gzipped)).getResponseHeaders();
+
+		assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+		assertEquals("max-age=31536000, public, immutable", headers.getCacheControl());
+	}
+
+	@Test
+	void unreadableVersionedAssetIsServedWithoutImmutable() throws IOException {
+		Resource unreadable = mock(Resource.class);
+		when(unreadable.getFilename()).thenReturn("app.js");
+		when(unreadable.getContentAsByteArray()).thenThrow(new IOException("gone"));
+
+		assertSame(unreadable, resolve("app-0123.js", unreadable));
+	}
+
+	@Test
+	void pagesLinkToVersionedScripts() throws Exception {
+		mockMvc.perform(get("/students/list"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString(versioned("/js/toast-handler.js"))));
+	}
+}
@@ -0,0 +1,247 @@
+package net.tao.studentmanagement.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+
+import net.tao.studentmanagement.dto.BulkDeleteResult;
+import net.tao.studentmanagement.dto.CursorPage;
+import net.tao.studentmanagement.dto.PageResult;
+import net.tao.studentmanagement.dto.StudentResponseDto;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
+import net.tao.studentmanagement.exception.ApiExceptionHandler;
+import net.tao.studentmanagement.exception.ResourceNotFoundException;
+import net.tao.studentmanagement.model.Student;
+import net.tao.studentmanagement.service.StudentService;
+import net.tao.studentmanagement.service.support.StudentChanges;
+import net.tao.studentmanagement.service.support.StudentPatchReader;
+
+@WebMvcTest(StudentApiController.class)
+@Import({ StudentPatchReader.class, ApiExceptionHandler.class })
+class StudentApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @SuppressWarnings("removal")
+    @MockBean
+    private StudentService service;
+
+    private static StudentResponseDto student(int id, long version) {
+        StudentResponseDto dto = new StudentResponseDto();
+        dto.setId(id);
+        dto.setName("Alice");
+        dto.setVersion(version);
+        return dto;
+    }
+
+    @Test
+    void listCapsPageSizeAndReturnsCursors() throws Exception {
+        when(service.getStudentsKeyset(isNull(), eq(100), eq("id"), eq("asc")))
+                .thenReturn(new CursorPage<>(
+                        List.of(new StudentSummaryDto(1, "Alice", "F", null, null, null)), "next", null, 100));
+
+        mockMvc.perform(get("/api/v1/students").param("size", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Alice"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.size").value(100));
+    }
+
+    @Test
+    void listRejectsUnsupportedSortField() throws Exception {
+        mockMvc.perform(get("/api/v1/students").param("sortField", "email"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+
+        verify(service, never()).getStudentsKeyset(any(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void listAcceptsEveryDeclaredSortField() throws Exception {
+        when(service.getStudentsKeyset(null, 20, "dob", "asc")).thenReturn(new CursorPage<>(List.of(), null, null, 20));
+
+        mockMvc.perform(get("/api/v1/students").param("sortField", "dob"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void searchRejectsUnsupportedSortField() throws Exception {
+        mockMvc.perform(get("/api/v1/students/search").param("keyword", "al").param("sortField", "email"))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).getStudentPage(any(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void searchUsesDefaultPageSize() throws Exception {
+        when(service.getStudentPage("al", 0, 20, "name", "asc"))
+                .thenReturn(new PageResult<>(List.of(), 0, 20, 0));
+
+        mockMvc.perform(get("/api/v1/students/search").param("keyword", "al").param("sortField", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    void getReturnsStudentWithEtagAndHonoursIfNoneMatch() throws Exception {
+        when(service.getStudentById(7)).thenReturn(student(7, 2));
+
+        mockMvc.perform(get("/api/v1/students/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7-2\""))
+                .andExpect(jsonPath("$.name").value("Alice"));
+
+        mockMvc.perform(get("/api/v1/students/7").header("If-None-Match", "\"7-2\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getMissingStudentIsProblem404() throws Exception {
+        when(service.getStudentById(9)).thenThrow(new ResourceNotFoundException("Student not found with id: 9"));
+
+        mockMvc.perform(get("/api/v1/students/9"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value("Student not found with id: 9"));
+    }
+
+    @Test
+    void createReturns201WithLocation() throws Exception {
+        when(service.createStudent(any())).thenReturn(student(51, 0));
+
+        mockMvc.perform(post("/api/v1/students").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Alice\",\"gender\":\"F\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/v1/students/51"))
+                .andExpect(jsonPath("$.id").value(51));
+    }
+
+    @Test
+    void createWithInvalidBodyListsFieldErrors() throws Exception {
+        mockMvc.perform(post("/api/v1/students").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"\",\"gender\":\"X\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.gender").value("Gender must be M or F"))
+                .andExpect(jsonPath("$.errors.name").exists());
+
+        verify(service, never()).createStudent(any());
+    }
+
+    @Test
+    void createWithMalformedJsonIs400() throws Exception {
+        mockMvc.perform(post("/api/v1/students").contentType(MediaType.APPLICATION_JSON).content("{\"name\":"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void putReplacesAllFieldsWithVersionCheck() throws Exception {
+        when(service.patchStudent(eq(7), eq(2L), any(), eq(StudentChanges.FIELDS))).thenReturn(3L);
+
+        mockMvc.perform(put("/api/v1/students/7").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Alice\",\"version\":2}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7-3\""))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    void putWithoutVersionIs428() throws Exception {
+        mockMvc.perform(put("/api/v1/students/7").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Alice\"}"))
+                .andExpect(status().isPreconditionRequired());
+
+        verify(service, never()).patchStudent(anyInt(), anyLong(), any(), any());
+    }
+
+    @Test
+    void patchWritesOnlyGivenFields() throws Exception {
+        when(service.patchStudent(eq(7), eq(2L), any(), eq(Set.of("mobile")))).thenReturn(3L);
+
+        mockMvc.perform(patch("/api/v1/students/7").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\":2,\"mobile\":\"0123\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    void patchWithStaleVersionIs409() throws Exception {
+        when(service.patchStudent(eq(7), eq(1L), any(), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Student.class, 7));
+
+        mockMvc.perform(patch("/api/v1/students/7").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\":1,\"mobile\":\"0123\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void patchWithUnknownFieldIs400() throws Exception {
+        mockMvc.perform(patch("/api/v1/students/7").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\":1,\"shoeSize\":42}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.shoeSize").value("Unknown field"));
+    }
+
+    @Test
+    void deleteReturns204() throws Exception {
+        mockMvc.perform(delete("/api/v1/students/7"))
+                .andExpect(status().isNoContent());
+
+        verify(service).deleteStudent(7);
+    }
+
+    @Test
+    void deleteMissingStudentIs404() throws Exception {
+        doThrow(new ResourceNotFoundException("Student not found with id: 9")).when(service).deleteStudent(9);
+
+        mockMvc.perform(delete("/api/v1/students/9"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void bulkDeleteReportsMissingIds() throws Exception {
+        when(service.deleteStudents(List.of(1, 2))).thenReturn(new BulkDeleteResult(List.of(1), List.of(2)));
+
+        mockMvc.perform(delete("/api/v1/students").param("ids", "1", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted[0]").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(2));
+    }
+
+    @Test
+    void bulkDeleteRejectsTooManyIds() throws Exception {
+        String ids = String.join(",", Collections.nCopies(1001, "1"));
+
+        mockMvc.perform(delete("/api/v1/students").param("ids", ids))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("At most 1000 ids can be deleted at once"));
+        verify(service, never()).deleteStudents(any());
+    }
+}
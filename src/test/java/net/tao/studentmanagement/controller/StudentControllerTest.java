@@ -1,34 +1,72 @@
 package net.tao.studentmanagement.controller;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
+import java.io.OutputStream;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.MockMvc;
 
+import net.tao.studentmanagement.controller.support.StudentFragmentCache;
+import net.tao.studentmanagement.dto.BulkDeleteResult;
+import net.tao.studentmanagement.dto.CursorPage;
+import net.tao.studentmanagement.dto.ImportReport;
+import net.tao.studentmanagement.dto.PageResult;
+import net.tao.studentmanagement.dto.StudentPosition;
 import net.tao.studentmanagement.dto.StudentResponseDto;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
+import net.tao.studentmanagement.exception.ResourceNotFoundException;
+import net.tao.studentmanagement.model.Student;
+import net.tao.studentmanagement.service.ExportFormat;
+import net.tao.studentmanagement.service.StudentExportService;
+import net.tao.studentmanagement.service.StudentImportService;
 import net.tao.studentmanagement.service.StudentService;
+import net.tao.studentmanagement.service.support.StudentDataVersion;
+import net.tao.studentmanagement.service.support.StudentPatchReader;
 
 @WebMvcTest(StudentController.class)
+@Import({ StudentPatchReader.class, StudentFragmentCache.class })
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class StudentControllerTest {
 
@@ -39,6 +77,29 @@ class StudentControllerTest {
     @MockBean
     private StudentService service;
 
+    @SuppressWarnings("removal")
+    @MockBean
+    private StudentDataVersion dataVersion;
+
+    @SuppressWarnings("removal")
+    @MockBean
+    private StudentImportService importService;
+
+    @SuppressWarnings("removal")
+    @MockBean
+    private StudentExportService exportService;
+
+    @Autowired
+    private StudentFragmentCache fragmentCache;
+
+    @BeforeEach
+    void stubEmptyPage() {
+        fragmentCache.clear();
+        when(dataVersion.isSettled()).thenReturn(true);
+        when(service.getStudentPage(any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new PageResult<>(List.of(), 0, 10, 0));
+    }
+
     @Test
     void testGetStudentsList() throws Exception {
         mockMvc.perform(get("/students/list"))
@@ -76,7 +137,9 @@ class StudentControllerTest {
         mockMvc.perform(get("/students/1/edit").param("size", "10").param("page", "0"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("students/edit"))
-                .andExpect(model().attributeExists("student"));
+                .andExpect(model().attributeExists("student"))
+                .andExpect(content().string(containsString("name=\"original.name\" value=\"John\"")))
+                .andExpect(content().string(containsString("name=\"original.dob\" value=\"2000-01-01\"")));
     }
 
     @Test
@@ -116,17 +179,77 @@ class StudentControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("John"));
     }
+
+    @Test
+    void testGetStudentDetails_notModified() throws Exception {
+        StudentResponseDto dto = new StudentResponseDto();
+        dto.setId(1);
+        dto.setVersion(3L);
+
+        when(service.getStudentById(1)).thenReturn(dto);
+        when(service.getStudentVersion(1)).thenReturn(3L);
+
+        mockMvc.perform(get("/students/1/details"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-3\""))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+
+        mockMvc.perform(get("/students/1/details").header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(service, times(1)).getStudentById(1);
+        verify(service, times(1)).getStudentVersion(1);
+    }
+
+    @Test
+    void testGetStudentDetails_staleEtag_returnsBodyWithLoadedVersion() throws Exception {
+        StudentResponseDto dto = new StudentResponseDto();
+        dto.setId(1);
+        dto.setVersion(5L);
+
+        when(service.getStudentVersion(1)).thenReturn(4L);
+        when(service.getStudentById(1)).thenReturn(dto);
+
+        mockMvc.perform(get("/students/1/details").header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-5\""))
+                .andExpect(jsonPath("$.version").value(5));
+    }
     
+    @Test
+    void testGetStudentDetailsBatch() throws Exception {
+        StudentResponseDto first = new StudentResponseDto();
+        first.setId(2);
+        first.setName("Ann");
+        StudentResponseDto second = new StudentResponseDto();
+        second.setId(1);
+        second.setName("John");
+
+        when(service.getStudentsByIds(List.of(2, 1))).thenReturn(List.of(first, second));
+
+        mockMvc.perform(get("/students/details").param("ids", "2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Ann"))
+                .andExpect(jsonPath("$[1].id").value(1));
+    }
+
+    @Test
+    void testGetStudentDetailsBatch_tooManyIds() throws Exception {
+        String ids = String.join(",", Collections.nCopies(101, "1"));
+
+        mockMvc.perform(get("/students/details").param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).getStudentsByIds(any());
+    }
+
     @SuppressWarnings("unchecked")
 	@Test
     void testStudentsList_withSearchAsc() throws Exception {
-        List<StudentResponseDto> list = List.of(new StudentResponseDto());
+        List<StudentSummaryDto> list = List.of(new StudentSummaryDto(1, "John", "M", null, null, null));
 
-        when(service.searchStudentsSorted(eq("john"), anyInt(), anyInt(), anyString(), anyString()))
-                .thenReturn(list, list);
-
-        when(service.countSearchResults("john"))
-                .thenReturn(1L);
+        when(service.getStudentPage(eq("john"), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new PageResult<>(list, 0, 10, 1));
 
         mockMvc.perform(get("/students/list")
                 .param("keyword", "john")
@@ -142,13 +265,10 @@ class StudentControllerTest {
     @SuppressWarnings("unchecked")
 	@Test
     void testStudentsList_withSearchDesc() throws Exception {
-        List<StudentResponseDto> list = List.of(new StudentResponseDto());
-
-        when(service.searchStudentsSorted(eq("john"), anyInt(), anyInt(), anyString(), anyString()))
-                .thenReturn(list, list);
+        List<StudentSummaryDto> list = List.of(new StudentSummaryDto(1, "John", "M", null, null, null));
 
-        when(service.countSearchResults("john"))
-                .thenReturn(1L);
+        when(service.getStudentPage(eq("john"), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new PageResult<>(list, 0, 10, 1));
 
         mockMvc.perform(get("/students/list")
                 .param("keyword", "john")
@@ -164,12 +284,10 @@ class StudentControllerTest {
     @SuppressWarnings("unchecked")
 	@Test
     void testStudentsList_paginated() throws Exception {
-        List<StudentResponseDto> list = List.of(new StudentResponseDto());
-
-        when(service.getTotalCount()).thenReturn(5L);
+        List<StudentSummaryDto> list = List.of(new StudentSummaryDto(1, "John", "M", null, null, null));
 
-        when(service.getStudentsPaginatedSorted(anyInt(), anyInt(), anyString(), anyString()))
-                .thenReturn(list, list);
+        when(service.getStudentPage(any(), eq(0), eq(10), eq("id"), eq("asc")))
+                .thenReturn(new PageResult<>(list, 0, 10, 5));
 
         mockMvc.perform(get("/students/list")
                 .param("page", "0")
@@ -184,12 +302,11 @@ class StudentControllerTest {
     @SuppressWarnings("unchecked")
 	@Test
     void testStudentsList_pageReset() throws Exception {
-        List<StudentResponseDto> list = List.of(new StudentResponseDto());
+        List<StudentSummaryDto> list = List.of(new StudentSummaryDto(1, "John", "M", null, null, null));
 
-        when(service.getTotalCount()).thenReturn(10L);
-
-        when(service.getStudentsPaginatedSorted(anyInt(), anyInt(), anyString(), anyString()))
-                .thenReturn(list, list);
+        // the service clamps page 10 of a 10-row table back to page 0
+        when(service.getStudentPage(any(), eq(10), eq(10), eq("id"), eq("asc")))
+                .thenReturn(new PageResult<>(list, 0, 10, 10));
 
         mockMvc.perform(get("/students/list")
                 .param("page", "10")
@@ -198,7 +315,8 @@ class StudentControllerTest {
                 .param("sortDir", "asc"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("students/list"))
-                .andExpect(model().attributeExists("students"));
+                .andExpect(model().attributeExists("students"))
+                .andExpect(model().attribute("currentPage", 0));
     }
 
     @Test
@@ -232,11 +350,10 @@ class StudentControllerTest {
     @SuppressWarnings("unchecked")
 	@Test
     void testStudentsList_pageReset_withSearch() throws Exception {
-        List<StudentResponseDto> list = List.of(new StudentResponseDto());
+        List<StudentSummaryDto> list = List.of(new StudentSummaryDto(1, "John", "M", null, null, null));
 
-        when(service.countSearchResults("aaa")).thenReturn(5L);
-        when(service.searchStudentsSorted(eq("aaa"), anyInt(), anyInt(), anyString(), anyString()))
-                .thenReturn(list, list);
+        when(service.getStudentPage(eq("aaa"), eq(10), eq(10), eq("id"), eq("asc")))
+                .thenReturn(new PageResult<>(list, 0, 10, 5));
 
         mockMvc.perform(get("/students/list")
                 .param("keyword", "aaa")
@@ -251,6 +368,11 @@ class StudentControllerTest {
 
     @Test
     void testCreateStudent_addsFlashMessage() throws Exception {
+        StudentResponseDto created = new StudentResponseDto();
+        created.setId(7);
+        when(service.createStudent(any(), anyInt(), anyString(), anyString()))
+                .thenReturn(new StudentPosition(created, "id", 6, 0));
+
         mockMvc.perform(post("/students")
                 .param("name", "John")
                 .param("gender", "M")
@@ -269,4 +391,364 @@ class StudentControllerTest {
                 .andExpect(flash().attributeExists("successMessage"));
     }
 
+    @Test
+    void testStudentsList_keysetMode() throws Exception {
+        CursorPage<StudentSummaryDto> slice = new CursorPage<>(
+                List.of(new StudentSummaryDto(1, "John", "M", null, null, null)), "next-token", null, 10);
+
+        when(service.getStudentsKeyset(isNull(), eq(10), eq("name"), eq("asc"))).thenReturn(slice);
+
+        mockMvc.perform(get("/students/list")
+                .param("mode", "keyset")
+                .param("size", "10")
+                .param("sortField", "name")
+                .param("sortDir", "asc"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("students/list"))
+                .andExpect(model().attribute("keyset", true))
+                .andExpect(model().attribute("nextCursor", "next-token"));
+    }
+
+    @Test
+    void testStudentsList_keysetMode_ignoredWhenSearching() throws Exception {
+        mockMvc.perform(get("/students/list")
+                .param("mode", "keyset")
+                .param("keyword", "john"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("keyset", false));
+    }
+
+    @Test
+    void testStudentsList_notModified_skipsQueries() throws Exception {
+        when(dataVersion.current()).thenReturn(42L);
+
+        mockMvc.perform(get("/students/list").header("If-None-Match", "W/\"42\""))
+                .andExpect(status().isNotModified());
+
+        verify(service, never()).getStudentPage(any(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void testStudentsList_staleETag_rendersPage() throws Exception {
+        when(dataVersion.current()).thenReturn(43L);
+
+        mockMvc.perform(get("/students/list").header("If-None-Match", "W/\"42\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"43\""))
+                .andExpect(view().name("students/list"));
+    }
+
+    @Test
+    void testStudentsList_withFlashMessage_isNotTagged() throws Exception {
+        mockMvc.perform(get("/students/list").flashAttr("successMessage", "Saved"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    void testImportStudents_returnsReport() throws Exception {
+        ImportReport report = new ImportReport(2, 1, 1,
+                List.of(new ImportReport.RowError(3, List.of("name: Name is required"))), false);
+        when(importService.importCsv(any())).thenReturn(report);
+
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv",
+                "name\nAnn\n,\n".getBytes());
+
+        mockMvc.perform(multipart("/students/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+    }
+
+    @Test
+    void testExportStudents_streamsAttachment() throws Exception {
+        when(exportService.export(eq(ExportFormat.NDJSON), any())).thenAnswer(inv -> {
+            inv.getArgument(1, OutputStream.class).write("{\"id\":1}\n".getBytes());
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/students/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"students.ndjson\""))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void testDeleteStudents_reportsDeletedAndMissing() throws Exception {
+        when(service.deleteStudents(List.of(1, 2, 3))).thenReturn(new BulkDeleteResult(List.of(1, 3), List.of(2)));
+
+        mockMvc.perform(delete("/students/delete")
+                .param("ids", "1", "2", "3")
+                .param("page", "2"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/students/list?page=2"))
+                .andExpect(flash().attribute("successMessage", "2 student(s) deleted. 1 no longer existed."));
+    }
+
+    @Test
+    void testDeleteStudents_noSelection() throws Exception {
+        mockMvc.perform(delete("/students/delete"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("errorMessage", "No students selected."));
+
+        verify(service, never()).deleteStudents(any());
+    }
+
+    @Test
+    void testListContent_rendersOnlyTableAndPager() throws Exception {
+        List<StudentSummaryDto> list = List.of(new StudentSummaryDto(4, "Frag Fay", "F", null, null, null));
+        when(service.getStudentPage(any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new PageResult<>(list, 0, 10, 1));
+
+        mockMvc.perform(get("/students/list/content"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("id=\"studentListContent\"")))
+                .andExpect(content().string(containsString("Frag Fay")))
+                .andExpect(content().string(not(containsString("<html"))))
+                .andExpect(content().string(not(containsString("navbar"))));
+    }
+
+    @Test
+    void testDeleteStudent_ajax_returnsListContent() throws Exception {
+        mockMvc.perform(delete("/students/5/delete")
+                .header("X-Requested-With", "XMLHttpRequest")
+                .param("page", "3")
+                .param("sortField", "name"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("students/list :: content"))
+                .andExpect(header().string("X-Success-Message", "Student deleted successfully!"))
+                .andExpect(model().attribute("sortField", "name"));
+
+        verify(service).deleteStudent(5);
+        verify(service).getStudentPage(isNull(), eq(3), eq(10), eq("name"), eq("asc"));
+    }
+
+    @Test
+    void testDeleteStudents_ajax_returnsListContent() throws Exception {
+        when(service.deleteStudents(List.of(1, 2))).thenReturn(new BulkDeleteResult(List.of(1, 2), List.of()));
+
+        mockMvc.perform(delete("/students/delete")
+                .header("X-Requested-With", "XMLHttpRequest")
+                .param("ids", "1", "2"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("students/list :: content"))
+                .andExpect(header().string("X-Success-Message", "2 student(s) deleted."));
+    }
+
+    @Test
+    void testUpdateStudent_withVersion_writesOnlyChangedFields() throws Exception {
+        mockMvc.perform(put("/students/1")
+                .param("page", "0")
+                .param("name", "Test")
+                .param("gender", "M")
+                .param("dob", "2001-02-03")
+                .param("mobile", "0123")
+                .param("version", "2")
+                .param("original.name", "Test")
+                .param("original.gender", "M")
+                .param("original.dob", "2001-02-03")
+                .param("original.mobile", ""))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attributeExists("successMessage"));
+
+        verify(service).patchStudent(eq(1), eq(2L), any(), eq(Set.of("mobile")));
+        verify(service, never()).getStudentById(anyInt());
+        verify(service, never()).updateStudent(anyInt(), any());
+    }
+
+    @Test
+    void testUpdateStudent_withStaleVersion_reportsConflict() throws Exception {
+        when(service.patchStudent(eq(1), eq(2L), any(), eq(Set.of("name"))))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Student.class, 1));
+
+        mockMvc.perform(put("/students/1")
+                .param("name", "New")
+                .param("gender", "M")
+                .param("version", "2")
+                .param("original.name", "Old")
+                .param("original.gender", "M"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attributeExists("errorMessage"));
+    }
+
+    @Test
+    void testPatchStudent_json() throws Exception {
+        when(service.patchStudent(eq(1), eq(3L), any(), eq(Set.of("mobile")))).thenReturn(4L);
+
+        mockMvc.perform(patch("/students/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\": 3, \"mobile\": \"0123\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void testPatchStudent_json_invalidFields() throws Exception {
+        mockMvc.perform(patch("/students/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\": 3, \"name\": null, \"nickname\": \"x\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.name").value("Name is required"))
+                .andExpect(jsonPath("$.nickname").value("Unknown field"));
+
+        mockMvc.perform(patch("/students/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"mobile\": \"0123\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.version").exists());
+
+        verify(service, never()).patchStudent(anyInt(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testPatchStudent_json_unknownStudent() throws Exception {
+        when(service.patchStudent(eq(9), eq(3L), any(), any()))
+                .thenThrow(new ResourceNotFoundException("Student not found with id: 9"));
+
+        mockMvc.perform(patch("/students/9")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\": 3, \"phone\": null}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Student not found with id: 9"));
+    }
+
+    @Test
+    void testPatchStudent_json_conflict() throws Exception {
+        when(service.patchStudent(eq(1), eq(3L), any(), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Student.class, 1));
+
+        mockMvc.perform(patch("/students/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\": 3, \"phone\": null}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testCreateStudent_redirectsToNewStudentsPage() throws Exception {
+        StudentResponseDto created = new StudentResponseDto();
+        created.setId(42);
+        when(service.createStudent(any(), eq(10), eq("name"), eq("desc")))
+                .thenReturn(new StudentPosition(created, "name", 23, 2));
+
+        mockMvc.perform(post("/students")
+                .param("name", "Zoe")
+                .param("gender", "F")
+                .param("size", "10")
+                .param("sortField", "name")
+                .param("sortDir", "desc"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/students/list?page=2&size=10&sortField=name&sortDir=desc&highlight=42"));
+
+        verify(service, never()).getTotalCount();
+    }
+
+    @Test
+    void testCreateStudent_fromDobSort_redirectsInIdOrder() throws Exception {
+        StudentResponseDto created = new StudentResponseDto();
+        created.setId(42);
+        when(service.createStudent(any(), eq(10), eq("dob"), eq("asc")))
+                .thenReturn(new StudentPosition(created, "id", 41, 4));
+
+        mockMvc.perform(post("/students")
+                .param("name", "Zoe")
+                .param("gender", "F")
+                .param("size", "10")
+                .param("sortField", "dob"))
+                .andExpect(redirectedUrl("/students/list?page=4&size=10&sortField=id&sortDir=asc&highlight=42"));
+    }
+
+    @Test
+    void testStudentsList_highlightsRow() throws Exception {
+        List<StudentSummaryDto> list = List.of(new StudentSummaryDto(42, "Zoe", "F", null, null, null));
+        when(service.getStudentPage(any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new PageResult<>(list, 0, 10, 1));
+
+        mockMvc.perform(get("/students/list").param("highlight", "42"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("highlight", 42))
+                .andExpect(content().string(containsString("row-highlight")));
+    }
+
+    @Test
+    void testStudentsList_repeatServedFromFragmentCache() throws Exception {
+        List<StudentSummaryDto> list = List.of(new StudentSummaryDto(7, "Cached Carl", "M", null, null, null));
+        when(service.getStudentPage(any(), anyInt(), anyInt(), anyString(), anyString()))
+                .thenReturn(new PageResult<>(list, 0, 10, 1));
+
+        mockMvc.perform(get("/students/list").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Cached Carl")));
+        mockMvc.perform(get("/students/list").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeExists("tableHtml"))
+                .andExpect(model().attributeDoesNotExist("students"))
+                .andExpect(content().string(containsString("Cached Carl")));
+
+        verify(service, times(1)).getStudentPage(any(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void testStudentsList_dataVersionChangeBypassesFragmentCache() throws Exception {
+        when(dataVersion.current()).thenReturn(1L, 1L, 2L, 2L);
+
+        mockMvc.perform(get("/students/list")).andExpect(status().isOk());
+        mockMvc.perform(get("/students/list")).andExpect(status().isOk());
+
+        verify(service, times(2)).getStudentPage(any(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void testStudentsList_unsettledVersion_isNeitherTaggedNorCached() throws Exception {
+        when(dataVersion.isSettled()).thenReturn(false);
+        when(dataVersion.current()).thenReturn(42L);
+
+        mockMvc.perform(get("/students/list").header("If-None-Match", "W/\"42\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+        mockMvc.perform(get("/students/list")).andExpect(status().isOk());
+
+        verify(service, times(2)).getStudentPage(any(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void testStudentsList_highlightIsNotCached() throws Exception {
+        mockMvc.perform(get("/students/list").param("highlight", "42"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeDoesNotExist("tableHtml"));
+        mockMvc.perform(get("/students/list").param("highlight", "42"))
+                .andExpect(status().isOk());
+
+        verify(service, times(2)).getStudentPage(any(), anyInt(), anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void testStudentsList_pagerLinksOnlyWindowAroundCurrentPage() throws Exception {
+        List<StudentSummaryDto> list = List.of(new StudentSummaryDto(1, "Paged Pat", "F", null, null, null));
+        when(service.getStudentPage(any(), eq(50_000), eq(10), anyString(), anyString()))
+                .thenReturn(new PageResult<>(list, 50_000, 10, 1_000_000));
+
+        mockMvc.perform(get("/students/list").param("page", "50000").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("windowStart", 49_998))
+                .andExpect(model().attribute("windowEnd", 50_002))
+                .andExpect(content().string(containsString("page=49998&amp;")))
+                .andExpect(content().string(containsString("page=50002&amp;")))
+                .andExpect(content().string(not(containsString("page=50003&amp;"))))
+                .andExpect(content().string(containsString("page=99999&amp;")))
+                .andExpect(content().string(containsString("name=\"jump\"")));
+    }
+
+    @Test
+    void testStudentsList_jumpIsOneBased() throws Exception {
+        mockMvc.perform(get("/students/list").param("jump", "3").param("size", "10"))
+                .andExpect(status().isOk());
+
+        verify(service).getStudentPage(isNull(), eq(2), eq(10), eq("id"), eq("asc"));
+    }
 }
@@ -0,0 +1,231 @@
+package net.tao.studentmanagement.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+import net.tao.studentmanagement.model.Student;
+import net.tao.studentmanagement.model.StudentSortField;
+
+/**
+ * Query-plan regression suite: runs each list, search and count query, captures
+ * the SQL Hibernate sends, and checks H2's EXPLAIN ANALYZE of every SELECT. A
+ * bounded query must use an index and read only a few rows of it. Queries whose
+ * cost grows with the table (substring counts and searches, the ranked page
+ * with its total, the name stream) are asserted to read a whole index, so a
+ * change in either direction shows up here rather than in production.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "net.tao.studentmanagement.repository.StudentQueryPlanTest$CapturedSql")
+class StudentQueryPlanTest {
+
+	private static final String TABLE_SCAN = ".tableScan";
+
+	private static final int ROWS = 200;
+
+	/** Most rows a bounded query may read; the statements run with every parameter bound to 1. */
+	private static final int BOUNDED_SCAN = 10;
+
+	private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+	/** Records every statement of the test's session factory. */
+	public static class CapturedSql implements StatementInspector {
+
+		private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+
+	@Autowired
+	private StudentRepository repo;
+
+	@Autowired
+	private TestEntityManager em;
+
+	@BeforeEach
+	void setUp() {
+		repo.deleteAll();
+		repo.saveAll(IntStream.range(0, ROWS).mapToObj(i -> {
+			Student s = new Student();
+			s.setName("Student " + (i * 37 % ROWS));
+			s.setDob(LocalDateTime.of(1990, 1, 1, 0, 0).plusDays(i * 53 % ROWS));
+			return s;
+		}).toList());
+		em.flush();
+		em.clear();
+	}
+
+	/** Sort as issued by the service: the field, then id as tie-breaker. */
+	private static Sort sortBy(StudentSortField field, Direction direction) {
+		return field == StudentSortField.ID ? Sort.by(direction, "id")
+				: Sort.by(direction, field.getProperty()).and(Sort.by(direction, "id"));
+	}
+
+	/** Runs the queries and returns the EXPLAIN ANALYZE output of every SELECT they issued. */
+	private List<String> plansOf(Runnable queries) {
+		CapturedSql.STATEMENTS.clear();
+		queries.run();
+		List<String> selects = CapturedSql.STATEMENTS.stream()
+				.filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+				.toList();
+		assertFalse(selects.isEmpty(), "no query was issued");
+
+		List<String> plans = new ArrayList<>();
+		em.getEntityManager().unwrap(Session.class).doWork(connection -> {
+			for (String sql : selects) {
+				try (PreparedStatement explain = connection.prepareStatement("EXPLAIN ANALYZE " + sql)) {
+					// "1" sorts before every name and is contained in none, so neither
+					// a seek nor a substring search can stop early by luck
+					for (int i = 1; i <= explain.getParameterMetaData().getParameterCount(); i++)
+						explain.setString(i, "1");
+					try (ResultSet rs = explain.executeQuery()) {
+						rs.next();
+						plans.add(sql + "\n" + rs.getString(1));
+					}
+				}
+			}
+		});
+		return plans;
+	}
+
+	/** Largest number of rows any single table access of the plan read. */
+	private static int mostRowsScanned(String plan) {
+		int most = 0;
+		Matcher m = SCAN_COUNT.matcher(plan);
+		while (m.find())
+			most = Math.max(most, Integer.parseInt(m.group(1)));
+		return most;
+	}
+
+	private void assertIndexed(Runnable queries) {
+		for (String plan : plansOf(queries)) {
+			assertFalse(plan.contains(TABLE_SCAN), () -> "Full table scan in plan:\n" + plan);
+			assertTrue(mostRowsScanned(plan) <= BOUNDED_SCAN, () -> "Unbounded index read in plan:\n" + plan);
+		}
+	}
+
+	/** The query is linear in the table: it reads a whole index, though never the table itself. */
+	private void assertReadsWholeIndex(Runnable queries) {
+		for (String plan : plansOf(queries)) {
+			assertFalse(plan.contains(TABLE_SCAN), () -> "Full table scan in plan:\n" + plan);
+			assertTrue(mostRowsScanned(plan) >= ROWS, () -> "Expected a whole-index read in plan:\n" + plan);
+		}
+	}
+
+	@Test
+	void checkDetectsTableScans() {
+		List<String> plans = plansOf(() -> em.getEntityManager()
+				.createQuery("select s from Student s order by s.address", Student.class).setMaxResults(10)
+				.getResultList());
+
+		assertTrue(plans.get(0).contains(TABLE_SCAN), plans.get(0));
+		assertTrue(mostRowsScanned(plans.get(0)) >= ROWS, plans.get(0));
+	}
+
+	@Test
+	void listPages_readEverySortFieldFromAnIndex() {
+		for (StudentSortField field : StudentSortField.values()) {
+			for (Direction direction : Direction.values())
+				assertIndexed(() -> repo.findSummariesBy(PageRequest.of(5, 10, sortBy(field, direction))));
+		}
+	}
+
+	@Test
+	void keysetSlices_seekIntoIndexes() {
+		assertIndexed(() -> {
+			repo.findSummariesByIdGreaterThan(50, PageRequest.of(0, 11, Sort.by(Direction.ASC, "id")));
+			repo.findSummariesByIdLessThan(50, PageRequest.of(0, 11, Sort.by(Direction.DESC, "id")));
+			repo.findSummariesByNameAndIdAfter("Student 5", 50,
+					PageRequest.of(0, 11, sortBy(StudentSortField.NAME, Direction.ASC)));
+			repo.findSummariesByNameAndIdBefore("Student 5", 50,
+					PageRequest.of(0, 11, sortBy(StudentSortField.NAME, Direction.DESC)));
+		});
+	}
+
+	@Test
+	void nameKeysetSlices_startAtTheBoundaryName() {
+		List<String> plans = plansOf(() -> {
+			repo.findSummariesByNameAndIdAfter("Student 5", 50,
+					PageRequest.of(0, 11, sortBy(StudentSortField.NAME, Direction.ASC)));
+			repo.findSummariesByNameAndIdBefore("Student 5", 50,
+					PageRequest.of(0, 11, sortBy(StudentSortField.NAME, Direction.DESC)));
+		});
+
+		assertTrue(plans.get(0).contains("IDX_STUDENT_NAME_ID: NAME >= ?1"), plans.get(0));
+		assertTrue(plans.get(1).contains("IDX_STUDENT_NAME_ID: NAME <= ?1"), plans.get(1));
+	}
+
+	@Test
+	void idLookups_usePrimaryKey() {
+		assertIndexed(() -> {
+			repo.findSummariesByIdIn(List.of(1, 2, 3));
+			repo.findAllById(List.of(1, 2, 3));
+			repo.findVersionById(1);
+		});
+	}
+
+	@Test
+	void bulkDelete_locksRowsThroughPrimaryKey() {
+		List<String> plans = plansOf(() -> repo.deleteAllByIdReturningIds(List.of(1, 2, 3)));
+
+		assertIndexed(() -> repo.deleteAllByIdReturningIds(List.of(4, 5, 6)));
+		assertTrue(plans.get(0).matches("(?s).*PRIMARY_KEY_\\w*: ID IN\\(.*"), plans.get(0));
+	}
+
+	@Test
+	void count_isADirectLookup() {
+		assertIndexed(() -> repo.count());
+	}
+
+	@Test
+	void substringSearches_readTheWholeNameIndex() {
+		assertReadsWholeIndex(() -> repo.countByNameContainingIgnoreCase("dent 1"));
+		assertReadsWholeIndex(() -> repo.findByNameContainingIgnoreCase("dent 1",
+				PageRequest.of(0, 10, sortBy(StudentSortField.NAME, Direction.ASC))));
+	}
+
+	@Test
+	void pageWithTotal_ranksTheWholeIndex() {
+		for (StudentSortField field : StudentSortField.values()) {
+			assertReadsWholeIndex(() -> {
+				repo.findPageWithTotal(null, 2, 10, field.getProperty(), "asc");
+				repo.findPageWithTotal("dent 1", 2, 10, field.getProperty(), "desc");
+			});
+		}
+	}
+
+	@Test
+	void nameStream_readsTheNameIndexOnce() {
+		assertReadsWholeIndex(() -> {
+			try (Stream<StudentNameView> names = repo.streamAllNames()) {
+				names.forEach(name -> { });
+			}
+		});
+	}
+}
@@ -0,0 +1,223 @@
+package net.tao.studentmanagement.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import net.tao.studentmanagement.dto.PageResult;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
+import net.tao.studentmanagement.model.Student;
+
+@DataJpaTest
+class StudentRepositoryTest {
+
+	@Autowired
+	private StudentRepository repo;
+
+	@Autowired
+	private TestEntityManager em;
+
+	private List<Student> saved;
+
+	@BeforeEach
+	void setUp() {
+		repo.deleteAll();
+		saved = repo.saveAll(List.of(student("Bob"), student("Amy"), student("Bob"), student("Cid"), student("Amy")));
+	}
+
+	private Student student(String name) {
+		Student s = new Student();
+		s.setName(name);
+		return s;
+	}
+
+	private List<Integer> ids(List<Student> students) {
+		return students.stream().map(Student::getId).toList();
+	}
+
+	private List<Integer> rowIds(List<StudentSummaryDto> rows) {
+		return rows.stream().map(StudentSummaryDto::getId).toList();
+	}
+
+	@Test
+	void findSummariesBy_appliesLimitWithoutCount() {
+		List<StudentSummaryDto> first = repo.findSummariesBy(PageRequest.of(0, 2, Sort.by("id")));
+
+		assertEquals(ids(saved.subList(0, 2)), rowIds(first));
+	}
+
+	@Test
+	void findSummariesByIdIn_buildsRowsWithFormattedDob() {
+		Student withDob = saved.get(3);
+		withDob.setDob(LocalDateTime.of(2001, 2, 3, 0, 0));
+		withDob.setEmail("cid@test.com");
+		repo.saveAndFlush(withDob);
+
+		List<StudentSummaryDto> rows = repo.findSummariesByIdIn(List.of(withDob.getId()));
+
+		assertEquals(List.of(new StudentSummaryDto(withDob.getId(), "Cid", "M", withDob.getDob(), "cid@test.com",
+				null)), rows);
+		assertEquals("2001-02-03", rows.get(0).getDob());
+	}
+
+	@Test
+	void findVersionById_readsVersionOfExistingRowsOnly() {
+		Student bob = saved.get(0);
+
+		assertEquals(Optional.of(bob.getVersion()), repo.findVersionById(bob.getId()));
+		assertEquals(Optional.empty(), repo.findVersionById(-1));
+	}
+
+	@Test
+	void findByIdGreaterThan_seeksPastCursor() {
+		Integer after = saved.get(1).getId();
+
+		List<StudentSummaryDto> next = repo.findSummariesByIdGreaterThan(after, PageRequest.of(0, 2, Sort.by("id")));
+
+		assertEquals(ids(saved.subList(2, 4)), rowIds(next));
+	}
+
+	@Test
+	void findByIdLessThan_seeksBackwards() {
+		Integer before = saved.get(3).getId();
+
+		List<StudentSummaryDto> prev = repo.findSummariesByIdLessThan(before,
+				PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id")));
+
+		assertEquals(List.of(saved.get(2).getId(), saved.get(1).getId()), rowIds(prev));
+	}
+
+	@Test
+	void findByNameAndIdAfter_breaksTiesById() {
+		Student firstBob = saved.get(0);
+		Sort byNameThenId = Sort.by("name").and(Sort.by("id"));
+
+		List<StudentSummaryDto> next = repo.findSummariesByNameAndIdAfter(firstBob.getName(), firstBob.getId(),
+				PageRequest.of(0, 10, byNameThenId));
+
+		assertEquals(List.of(saved.get(2).getId(), saved.get(3).getId()), rowIds(next));
+	}
+
+	@Test
+	void findByNameAndIdBefore_breaksTiesById() {
+		Student secondBob = saved.get(2);
+		Sort byNameThenIdDesc = Sort.by(Sort.Direction.DESC, "name").and(Sort.by(Sort.Direction.DESC, "id"));
+
+		List<StudentSummaryDto> prev = repo.findSummariesByNameAndIdBefore(secondBob.getName(), secondBob.getId(),
+				PageRequest.of(0, 10, byNameThenIdDesc));
+
+		assertEquals(List.of(saved.get(0).getId(), saved.get(4).getId(), saved.get(1).getId()), rowIds(prev));
+	}
+
+	@Test
+	void findPageWithTotal_returnsRowsAndTotalTogether() {
+		PageResult<StudentSummaryDto> page = repo.findPageWithTotal(null, 1, 2, "name", "asc");
+
+		// Amy(1), Amy(4) | Bob(0), Bob(2) | Cid(3)
+		assertEquals(List.of(saved.get(0).getId(), saved.get(2).getId()), rowIds(page.getContent()));
+		assertEquals(1, page.getPage());
+		assertEquals(5, page.getTotalElements());
+	}
+
+	@Test
+	void findPageWithTotal_clampsOutOfRangePageInQuery() {
+		PageResult<StudentSummaryDto> page = repo.findPageWithTotal(null, 40, 2, "id", "desc");
+
+		assertEquals(2, page.getPage());
+		assertEquals(List.of(saved.get(0).getId()), rowIds(page.getContent()));
+	}
+
+	@Test
+	void findPageWithTotal_filtersByKeywordCaseInsensitively() {
+		PageResult<StudentSummaryDto> page = repo.findPageWithTotal("bo", 0, 10, "id", "asc");
+
+		assertEquals(List.of(saved.get(0).getId(), saved.get(2).getId()), rowIds(page.getContent()));
+		assertEquals(2, page.getTotalElements());
+	}
+
+	@Test
+	void findPageWithTotal_treatsLikeWildcardsLiterally() {
+		PageResult<StudentSummaryDto> page = repo.findPageWithTotal("%", 0, 10, "id", "asc");
+
+		assertTrue(page.getContent().isEmpty());
+		assertEquals(0, page.getTotalElements());
+	}
+
+	@Test
+	void findPageWithTotal_rejectsUnknownSortField() {
+		assertThrows(InvalidDataAccessApiUsageException.class, () -> repo.findPageWithTotal(null, 0, 10, "id; drop", "asc"));
+	}
+
+	@Test
+	void streamAll_returnsEveryStudentInIdOrder() {
+		try (Stream<Student> rows = repo.streamAll()) {
+			assertEquals(ids(saved), rows.map(Student::getId).toList());
+		}
+	}
+
+	@Test
+	void deleteAllByIdReturningIds_returnsOnlyRemovedIds() {
+		Integer missing = saved.get(4).getId() + 1000;
+
+		List<Integer> deleted = repo.deleteAllByIdReturningIds(List.of(saved.get(0).getId(), missing, saved.get(3).getId()));
+
+		assertEquals(List.of(saved.get(0).getId(), saved.get(3).getId()), deleted.stream().sorted().toList());
+		assertEquals(3, repo.count());
+	}
+
+	@Test
+	void deleteOneById_reportsAffectedRows() {
+		assertEquals(1, repo.deleteOneById(saved.get(1).getId()));
+		assertEquals(0, repo.deleteOneById(saved.get(1).getId()));
+	}
+
+	@Test
+	void updateFields_setsGivenColumnsAndBumpsVersion() {
+		Student cid = saved.get(3);
+		cid.setEmail("cid@test.com");
+		repo.saveAndFlush(cid);
+		long version = cid.getVersion();
+
+		Map<String, Object> changes = new HashMap<>();
+		changes.put("mobile", "0123");
+		changes.put("email", null);
+		assertEquals(1, repo.updateFields(cid.getId(), version, changes));
+		em.clear();
+
+		Student reloaded = repo.findById(cid.getId()).orElseThrow();
+		assertEquals("Cid", reloaded.getName());
+		assertEquals("0123", reloaded.getMobile());
+		assertEquals(null, reloaded.getEmail());
+		assertEquals(version + 1, reloaded.getVersion());
+	}
+
+	@Test
+	void updateFields_staleVersionUpdatesNothing() {
+		Student amy = saved.get(1);
+
+		assertEquals(0, repo.updateFields(amy.getId(), amy.getVersion() + 1, Map.of("name", "Zed")));
+		assertEquals(0, repo.updateFields(amy.getId() + 1000, amy.getVersion(), Map.of("name", "Zed")));
+	}
+
+	@Test
+	void updateFields_rejectsUnknownColumns() {
+		assertThrows(InvalidDataAccessApiUsageException.class,
+				() -> repo.updateFields(saved.get(0).getId(), 0, Map.of("version", 7L)));
+	}
+}
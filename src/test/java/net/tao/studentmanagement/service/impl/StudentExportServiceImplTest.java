@@ -0,0 +1,87 @@
+package net.tao.studentmanagement.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import net.tao.studentmanagement.mapper.StudentMapper;
+import net.tao.studentmanagement.model.Student;
+import net.tao.studentmanagement.repository.StudentRepository;
+import net.tao.studentmanagement.service.ExportFormat;
+
+class StudentExportServiceImplTest {
+
+	private StudentRepository repo;
+	private EntityManager entityManager;
+	private StudentExportServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		repo = mock(StudentRepository.class);
+		entityManager = mock(EntityManager.class);
+		service = new StudentExportServiceImpl(repo, Mappers.getMapper(StudentMapper.class), new ObjectMapper(),
+				entityManager);
+	}
+
+	private Student student(int id, String name) {
+		Student s = new Student();
+		s.setId(id);
+		s.setName(name);
+		return s;
+	}
+
+	private String export(ExportFormat format) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.export(format, out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void export_csvQuotesFieldsThatNeedIt() {
+		Student jo = student(1, "Smith, \"Jo\"");
+		jo.setDob(LocalDateTime.of(2001, 2, 3, 0, 0));
+		when(repo.streamAll()).thenReturn(Stream.of(jo, student(2, "Amy")));
+
+		assertEquals("""
+				id,name,address,gender,dob,email,mobile,phone
+				1,"Smith, ""Jo\""",,M,2001-02-03,,,
+				2,Amy,,M,,,,
+				""", export(ExportFormat.CSV));
+		verify(entityManager, never()).clear();
+	}
+
+	@Test
+	void export_ndjsonWritesOneObjectPerLine() {
+		when(repo.streamAll()).thenReturn(Stream.of(student(1, "Amy"), student(2, "Bob")));
+
+		String[] lines = export(ExportFormat.NDJSON).split("\n");
+
+		assertEquals(2, lines.length);
+		assertTrue(lines[1].startsWith("{\"id\":2,\"name\":\"Bob\""));
+	}
+
+	@Test
+	void export_clearsPersistenceContextPeriodically() {
+		when(repo.streamAll()).thenReturn(IntStream.rangeClosed(1, 2500).mapToObj(i -> student(i, "S" + i)));
+
+		assertEquals(2500, service.export(ExportFormat.CSV, new ByteArrayOutputStream()));
+		verify(entityManager, times(2)).clear();
+	}
+}
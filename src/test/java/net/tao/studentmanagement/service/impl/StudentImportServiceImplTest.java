@@ -0,0 +1,138 @@
+package net.tao.studentmanagement.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.validation.Validation;
+import net.tao.studentmanagement.dto.ImportReport;
+import net.tao.studentmanagement.event.StudentChangedEvent;
+import net.tao.studentmanagement.mapper.StudentMapper;
+import net.tao.studentmanagement.model.Student;
+import net.tao.studentmanagement.repository.StudentRepository;
+
+class StudentImportServiceImplTest {
+
+	private StudentRepository repo;
+	private ApplicationEventPublisher eventPublisher;
+	private StudentImportServiceImpl service;
+
+	private final AtomicInteger nextId = new AtomicInteger(1);
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		repo = mock(StudentRepository.class);
+		eventPublisher = mock(ApplicationEventPublisher.class);
+		TransactionTemplate tx = mock(TransactionTemplate.class);
+		when(tx.execute(any())).thenAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+		when(repo.saveAll(anyList())).thenAnswer(inv -> {
+			List<Student> students = inv.getArgument(0);
+			students.forEach(s -> s.setId(nextId.getAndIncrement()));
+			return students;
+		});
+
+		service = new StudentImportServiceImpl(repo, Mappers.getMapper(StudentMapper.class),
+				Validation.buildDefaultValidatorFactory().getValidator(), tx, eventPublisher);
+		ReflectionTestUtils.setField(service, "chunkSize", 2);
+		ReflectionTestUtils.setField(service, "maxErrors", 10);
+	}
+
+	private ImportReport importCsv(String csv) {
+		return service.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void importCsv_savesValidRowsInChunksAndReportsInvalidOnes() {
+		ImportReport report = importCsv("""
+				name,gender,dob,email
+				Ann,F,2001-02-03,ann@test.com
+				,M,2001-02-03,
+				Ben,,1999-12-31,not-an-email
+
+				Cy,X,31/12/1999,
+				Dee,f,,
+				""");
+
+		assertEquals(5, report.getTotalRows());
+		assertEquals(2, report.getImported());
+		assertEquals(3, report.getFailed());
+		assertEquals(List.of(3L, 4L, 6L), report.getErrors().stream().map(ImportReport.RowError::getLine).toList());
+		assertEquals(List.of("dob: must be a date in yyyy-MM-dd format", "gender: Gender must be M or F"),
+				report.getErrors().get(2).getMessages());
+		// chunks of two parsed rows: [Ann, -], [Ben, Cy], [Dee]
+		verify(repo, times(2)).saveAll(anyList());
+		verify(eventPublisher, times(2)).publishEvent(any(StudentChangedEvent.class));
+	}
+
+	@Test
+	void importCsv_handlesQuotedFieldsAndAnyColumnOrder() {
+		ImportReport report = importCsv("""
+				email,"name",address
+				a@test.com,"Smith, ""Jo""\","1 Main St, Austin"
+				""");
+
+		assertEquals(1, report.getImported());
+		verify(repo).saveAll(argThat((List<Student> list) ->
+				list.get(0).getName().equals("Smith, \"Jo\"") && list.get(0).getAddress().equals("1 Main St, Austin")
+						&& list.get(0).getGender().equals("M")));
+	}
+
+	@Test
+	void importCsv_rejectsFileWithoutNameColumn() {
+		ImportReport report = importCsv("first,last\nA,B\n");
+
+		assertEquals(0, report.getImported());
+		assertEquals(1L, report.getErrors().get(0).getLine());
+		verify(repo, never()).saveAll(anyList());
+	}
+
+	@Test
+	void importCsv_reportsRowsOfFailedChunk() {
+		when(repo.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("boom"));
+
+		ImportReport report = importCsv("name\nAnn\nBen\n");
+
+		assertEquals(2, report.getFailed());
+		assertEquals(0, report.getImported());
+	}
+
+	@Test
+	void importCsv_capsErrorList() {
+		ReflectionTestUtils.setField(service, "maxErrors", 1);
+
+		ImportReport report = importCsv("name,gender\nA,X\nB,X\n");
+
+		assertEquals(2, report.getFailed());
+		assertEquals(1, report.getErrors().size());
+		assertTrue(report.isErrorsTruncated());
+	}
+
+	@Test
+	void splitCsvLine_keepsEmptyFieldsAndRejectsUnterminatedQuote() {
+		assertEquals(List.of("a", "", "b"), StudentImportServiceImpl.splitCsvLine("a,,b"));
+		assertThrows(IllegalArgumentException.class, () -> StudentImportServiceImpl.splitCsvLine("\"open,x"));
+	}
+}
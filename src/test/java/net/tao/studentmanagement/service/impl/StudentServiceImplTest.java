@@ -4,20 +4,37 @@ import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.Optional;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
 
+import net.tao.studentmanagement.dto.BulkDeleteResult;
+import net.tao.studentmanagement.dto.CursorPage;
+import net.tao.studentmanagement.dto.PageResult;
 import net.tao.studentmanagement.dto.StudentRequestDto;
+import net.tao.studentmanagement.dto.StudentPosition;
 import net.tao.studentmanagement.dto.StudentResponseDto;
+import net.tao.studentmanagement.dto.StudentSummaryDto;
+import net.tao.studentmanagement.event.StudentChangedEvent;
 import net.tao.studentmanagement.exception.ResourceNotFoundException;
 import net.tao.studentmanagement.mapper.StudentMapper;
 import net.tao.studentmanagement.model.Student;
 import net.tao.studentmanagement.repository.StudentRepository;
+import net.tao.studentmanagement.service.support.KeysetCursor;
+import net.tao.studentmanagement.service.support.StudentCountRegistry;
+import net.tao.studentmanagement.service.support.StudentDetailCache;
+import net.tao.studentmanagement.service.support.StudentMetrics;
+import net.tao.studentmanagement.service.support.StudentNameIndex;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 class StudentServiceImplTest {
 
@@ -27,6 +44,21 @@ class StudentServiceImplTest {
     @Mock
     private StudentMapper mapper;
 
+    @Mock
+    private StudentCountRegistry countRegistry;
+
+    @Mock
+    private StudentNameIndex nameIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StudentMetrics metrics;
+
+    @Mock
+    private StudentDetailCache detailCache;
+
     @InjectMocks
     private StudentServiceImpl service;
 
@@ -56,6 +88,7 @@ class StudentServiceImplTest {
 
         assertEquals(1, output.getId());
         assertEquals("John", output.getName());
+        verify(eventPublisher).publishEvent(StudentChangedEvent.created(1, "John"));
     }
 
     @Test
@@ -88,6 +121,113 @@ class StudentServiceImplTest {
                 () -> service.updateStudent(100, dto));
     }
 
+    @Test
+    void testCreateStudent_returnsPositionWithoutCounting() {
+        StudentRequestDto req = new StudentRequestDto();
+        Student entity = student(57, "Zoe");
+        StudentResponseDto res = new StudentResponseDto();
+        res.setId(57);
+        res.setName("Zoe");
+        when(mapper.toEntity(req)).thenReturn(entity);
+        when(mapper.toResponseDto(entity)).thenReturn(res);
+        when(nameIndex.isReady()).thenReturn(true);
+        when(nameIndex.ordinalOf(57, "Zoe", "name", "desc")).thenReturn(23L);
+
+        StudentPosition position = service.createStudent(req, 10, "name", "desc");
+
+        assertEquals("name", position.getSortField());
+        assertEquals(23, position.getOrdinal());
+        assertEquals(2, position.getPage());
+        assertSame(res, position.getStudent());
+        verify(repo, never()).count();
+        verifyNoInteractions(countRegistry);
+    }
+
+    @Test
+    void testCreateStudent_indexNotReady_placesByIdFromRegistry() {
+        StudentRequestDto req = new StudentRequestDto();
+        Student entity = student(57, "Zoe");
+        StudentResponseDto res = new StudentResponseDto();
+        res.setId(57);
+        when(mapper.toEntity(req)).thenReturn(entity);
+        when(mapper.toResponseDto(entity)).thenReturn(res);
+        when(countRegistry.current()).thenReturn(30L);
+
+        assertEquals(3, service.createStudent(req, 10, "id", "asc").getPage());
+        assertEquals(0, service.createStudent(req, 10, "id", "desc").getPage());
+    }
+
+    @Test
+    void testPatchStudent_writesOnlyNamedFields() {
+        StudentRequestDto values = new StudentRequestDto();
+        values.setName("Ignored");
+        values.setMobile("0123");
+        values.setDob(LocalDate.of(2001, 2, 3));
+        when(repo.updateFields(eq(1), eq(4L), anyMap())).thenReturn(1);
+
+        assertEquals(5L, service.patchStudent(1, 4L, values, Set.of("mobile", "dob")));
+
+        verify(repo).updateFields(1, 4L, Map.of("mobile", "0123", "dob", LocalDate.of(2001, 2, 3).atStartOfDay()));
+        verify(repo, never()).findById(anyInt());
+        verify(eventPublisher).publishEvent(StudentChangedEvent.updated(1, null));
+    }
+
+    @Test
+    void testPatchStudent_noChanges_noStatement() {
+        assertEquals(4L, service.patchStudent(1, 4L, new StudentRequestDto(), Set.of()));
+
+        verifyNoInteractions(repo, eventPublisher);
+    }
+
+    @Test
+    void testPatchStudent_staleVersion() {
+        StudentRequestDto values = new StudentRequestDto();
+        values.setName("New");
+        when(repo.updateFields(eq(1), eq(4L), anyMap())).thenReturn(0);
+        when(repo.existsById(1)).thenReturn(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> service.patchStudent(1, 4L, values, Set.of("name")));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testPatchStudent_notFound() {
+        when(repo.updateFields(eq(9), eq(0L), anyMap())).thenReturn(0);
+        when(repo.existsById(9)).thenReturn(false);
+        StudentRequestDto values = new StudentRequestDto();
+
+        assertThrows(ResourceNotFoundException.class, () -> service.patchStudent(9, 0L, values, Set.of("phone")));
+    }
+
+    @Test
+    void testCreateStudent_dobSort_fallsBackToIdOrder() {
+        StudentRequestDto req = new StudentRequestDto();
+        Student entity = student(57, "Zoe");
+        StudentResponseDto res = new StudentResponseDto();
+        res.setId(57);
+        res.setName("Zoe");
+        when(mapper.toEntity(req)).thenReturn(entity);
+        when(mapper.toResponseDto(entity)).thenReturn(res);
+        when(nameIndex.isReady()).thenReturn(true);
+        when(nameIndex.ordinalOf(57, "Zoe", "id", "asc")).thenReturn(12L);
+
+        StudentPosition position = service.createStudent(req, 10, "dob", "asc");
+
+        assertEquals("id", position.getSortField());
+        assertEquals(12, position.getOrdinal());
+        assertEquals(1, position.getPage());
+        verify(repo, never()).count();
+    }
+
+    @Test
+    void testCreateStudent_pageSizeBelowOne_savesNothing() {
+        StudentRequestDto req = new StudentRequestDto();
+
+        assertThrows(IllegalArgumentException.class, () -> service.createStudent(req, 0, "id", "asc"));
+        verifyNoInteractions(repo);
+    }
+
     @Test
     void testGetStudentById_success() {
         Student entity = new Student();
@@ -102,6 +242,7 @@ class StudentServiceImplTest {
         StudentResponseDto dto = service.getStudentById(10);
 
         assertEquals(10, dto.getId());
+        verify(metrics).recordDetailLoad(anyLong());
     }
 
     @Test
@@ -112,6 +253,43 @@ class StudentServiceImplTest {
                 () -> service.getStudentById(99));
     }
 
+    @Test
+    void testGetStudentById_cached_noQuery() {
+        StudentResponseDto cached = new StudentResponseDto();
+        cached.setId(10);
+        when(detailCache.get(10)).thenReturn(cached);
+
+        assertSame(cached, service.getStudentById(10));
+        verify(repo, never()).findById(any());
+        verifyNoInteractions(metrics);
+    }
+
+    @Test
+    void testGetStudentVersion_cached_noQuery() {
+        StudentResponseDto cached = new StudentResponseDto();
+        cached.setVersion(4L);
+        when(detailCache.get(10)).thenReturn(cached);
+
+        assertEquals(4L, service.getStudentVersion(10));
+        verifyNoInteractions(repo, mapper);
+    }
+
+    @Test
+    void testGetStudentVersion_readsVersionColumnOnly() {
+        when(repo.findVersionById(10)).thenReturn(Optional.of(2L));
+
+        assertEquals(2L, service.getStudentVersion(10));
+        verify(repo, never()).findById(any());
+        verify(detailCache, never()).put(any(), anyLong());
+    }
+
+    @Test
+    void testGetStudentVersion_notFound() {
+        when(repo.findVersionById(99)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getStudentVersion(99));
+    }
+
     @Test
     void testGetAllStudents() {
         Student s = new Student();
@@ -127,26 +305,28 @@ class StudentServiceImplTest {
 
     @Test
     void testDeleteStudent_success() {
-        when(repo.existsById(1)).thenReturn(true);
-        doNothing().when(repo).deleteById(1);
+        when(repo.deleteOneById(1)).thenReturn(1);
 
         service.deleteStudent(1);
-        verify(repo, times(1)).deleteById(1);
+        verify(repo, times(1)).deleteOneById(1);
+        verify(repo, never()).existsById(anyInt());
+        verify(eventPublisher).publishEvent(StudentChangedEvent.deleted(List.of(1)));
     }
 
     @Test
     void testDeleteStudent_notFound() {
-        when(repo.existsById(5)).thenReturn(false);
+        when(repo.deleteOneById(5)).thenReturn(0);
         assertThrows(ResourceNotFoundException.class, () -> service.deleteStudent(5));
     }
 
     @Test
     void testGetTotalCount() {
-        when(repo.count()).thenReturn(7L);
+        when(countRegistry.current()).thenReturn(7L);
 
         long count = service.getTotalCount();
 
         assertEquals(7, count);
+        verify(repo, never()).count();
     }
 
     @Test
@@ -171,6 +351,7 @@ class StudentServiceImplTest {
         long count = service.countSearchResults("john");
 
         assertEquals(3, count);
+        verify(metrics).recordSearchResults(3);
     }
 
     @Test
@@ -292,12 +473,280 @@ class StudentServiceImplTest {
     }
 
     @Test
-    void testDeleteStudent_notFound_noDeleteCall() {
-        when(repo.existsById(5)).thenReturn(false);
+    void testDeleteStudent_notFound_noEvent() {
+        when(repo.deleteOneById(5)).thenReturn(0);
 
         assertThrows(ResourceNotFoundException.class, () -> service.deleteStudent(5));
 
-        verify(repo, never()).deleteById(anyInt());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testDeleteStudents_reportsMissingIds() {
+        when(repo.deleteAllByIdReturningIds(List.of(1, 2, 3))).thenReturn(List.of(1, 3));
+
+        BulkDeleteResult result = service.deleteStudents(List.of(1, 2, 3, 1));
+
+        assertEquals(List.of(1, 3), result.getDeleted());
+        assertEquals(List.of(2), result.getMissing());
+        verify(eventPublisher).publishEvent(StudentChangedEvent.deleted(List.of(1, 3)));
+    }
+
+    @Test
+    void testDeleteStudents_chunksLargeIdSets() {
+        List<Integer> ids = IntStream.rangeClosed(1, 1200).boxed().toList();
+        when(repo.deleteAllByIdReturningIds(anyList())).thenAnswer(inv -> List.copyOf(inv.getArgument(0)));
+
+        BulkDeleteResult result = service.deleteStudents(ids);
+
+        verify(repo, times(3)).deleteAllByIdReturningIds(anyList());
+        assertEquals(1200, result.getDeleted().size());
+        assertTrue(result.getMissing().isEmpty());
+    }
+
+    @Test
+    void testDeleteStudents_nothingDeleted_noEvent() {
+        when(repo.deleteAllByIdReturningIds(List.of(9))).thenReturn(List.of());
+
+        BulkDeleteResult result = service.deleteStudents(List.of(9));
+
+        assertEquals(List.of(9), result.getMissing());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testGetStudentsByIds_loadsOnlyCacheMissesInOneQuery() {
+        StudentResponseDto cached = new StudentResponseDto();
+        cached.setId(2);
+        StudentResponseDto loaded = new StudentResponseDto();
+        loaded.setId(3);
+        Student entity = student(3, "Carl");
+
+        when(detailCache.get(2)).thenReturn(cached);
+        when(repo.findAllById(List.of(3, 9))).thenReturn(List.of(entity));
+        when(mapper.toResponseDto(entity)).thenReturn(loaded);
+
+        List<StudentResponseDto> result = service.getStudentsByIds(List.of(3, 2, 9, 3));
+
+        assertEquals(List.of(loaded, cached), result);
+        verify(repo, times(1)).findAllById(any());
+        verify(detailCache).put(eq(loaded), anyLong());
+    }
+
+    @Test
+    void testGetStudentsByIds_allCached_noQuery() {
+        StudentResponseDto cached = new StudentResponseDto();
+        cached.setId(1);
+        when(detailCache.get(1)).thenReturn(cached);
+
+        assertEquals(List.of(cached), service.getStudentsByIds(List.of(1)));
+        verify(repo, never()).findAllById(any());
+    }
+
+    @Test
+    void testGetStudentPage_unknownSortField_rejectedBeforeQuery() {
+        assertThrows(IllegalArgumentException.class, () -> service.getStudentPage(null, 0, 10, "address", "asc"));
+        assertThrows(IllegalArgumentException.class, () -> service.getStudentsKeyset(null, 10, "email", "asc"));
+
+        verifyNoInteractions(repo);
+    }
+
+    private Student student(int id, String name) {
+        Student s = new Student();
+        s.setId(id);
+        s.setName(name);
+        return s;
+    }
+
+    private StudentSummaryDto summary(int id, String name) {
+        return new StudentSummaryDto(id, name, "M", null, null, null);
+    }
+
+    private List<Integer> ids(List<StudentSummaryDto> rows) {
+        return rows.stream().map(StudentSummaryDto::getId).toList();
+    }
+
+    @Test
+    void testGetStudentsKeyset_firstPage_hasNext() {
+        when(repo.findSummariesBy(any(Pageable.class)))
+                .thenReturn(List.of(summary(1, "A"), summary(2, "B"), summary(3, "C")));
+
+        CursorPage<StudentSummaryDto> page = service.getStudentsKeyset(null, 2, "id", "asc");
+
+        assertEquals(List.of(1, 2), ids(page.getContent()));
+        assertTrue(page.hasNext());
+        assertFalse(page.hasPrevious());
+
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(2, next.getId());
+        assertFalse(next.isBackward());
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    void testGetStudentsKeyset_forwardById_lastPage() {
+        String cursor = KeysetCursor.after("id", "asc", 2, "B").encode();
+
+        when(repo.findSummariesByIdGreaterThan(eq(2), any(Pageable.class))).thenReturn(List.of(summary(3, "C")));
+
+        CursorPage<StudentSummaryDto> page = service.getStudentsKeyset(cursor, 2, "id", "asc");
+
+        assertEquals(1, page.getContent().size());
+        assertFalse(page.hasNext());
+        assertEquals(3, KeysetCursor.decode(page.getPrevCursor()).getId());
+    }
+
+    @Test
+    void testGetStudentsKeyset_backwardByName_reversesSlice() {
+        String cursor = KeysetCursor.before("name", "asc", 5, "E").encode();
+
+        // scanned in descending order, must come back ascending
+        when(repo.findSummariesByNameAndIdBefore(eq("E"), eq(5), any(Pageable.class)))
+                .thenReturn(List.of(summary(4, "D"), summary(3, "C"), summary(2, "B")));
+
+        CursorPage<StudentSummaryDto> page = service.getStudentsKeyset(cursor, 2, "name", "asc");
+
+        assertEquals(List.of(3, 4), ids(page.getContent()));
+        assertTrue(page.hasNext());
+        assertTrue(page.hasPrevious());
+        assertEquals("C", KeysetCursor.decode(page.getPrevCursor()).getName());
+    }
+
+    @Test
+    void testGetStudentsKeyset_descByName_usesBeforeQuery() {
+        String cursor = KeysetCursor.after("name", "desc", 5, "E").encode();
+
+        when(repo.findSummariesByNameAndIdBefore(eq("E"), eq(5), any(Pageable.class))).thenReturn(List.of());
+
+        CursorPage<StudentSummaryDto> page = service.getStudentsKeyset(cursor, 2, "name", "desc");
+
+        assertTrue(page.getContent().isEmpty());
+        assertFalse(page.hasNext());
+        assertFalse(page.hasPrevious());
+    }
+
+    @Test
+    void testGetStudentsKeyset_cursorForOtherSort_restartsFromFirstPage() {
+        String cursor = KeysetCursor.after("name", "asc", 5, "E").encode();
+
+        when(repo.findSummariesBy(any(Pageable.class))).thenReturn(List.of());
+
+        service.getStudentsKeyset(cursor, 2, "id", "asc");
+
+        verify(repo).findSummariesBy(any(Pageable.class));
+        verify(repo, never()).findSummariesByIdGreaterThan(anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void testKeysetCursor_roundTripAndMalformed() {
+        KeysetCursor cursor = KeysetCursor.before("name", "desc", 7, "Doe: Jane");
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+        assertNull(KeysetCursor.decode("not-a-cursor!"));
+        assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test
+    void testGetStudentPage_searchFallback_returnsRepositoryPage() {
+        PageResult<StudentSummaryDto> fromRepo = new PageResult<>(List.of(summary(1, "A")), 2, 10, 21);
+
+        when(repo.findPageWithTotal("a", 3, 10, "dob", "asc")).thenReturn(fromRepo);
+
+        PageResult<StudentSummaryDto> page = service.getStudentPage("a", 3, 10, "dob", "asc");
+
+        assertEquals(fromRepo, page);
+        assertEquals(3, page.getTotalPages());
+        verifyNoInteractions(mapper);
+        verify(metrics).recordSearchResults(21);
+    }
+
+    @Test
+    void testGetStudentPage_unfiltered_usesRegistryTotal() {
+        when(countRegistry.current()).thenReturn(25L);
+        when(repo.findSummariesBy(any(Pageable.class))).thenReturn(List.of(summary(1, "A")));
+
+        PageResult<StudentSummaryDto> page = service.getStudentPage(null, 9, 10, "name", "desc");
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(repo).findSummariesBy(pageable.capture());
+        assertEquals(2, pageable.getValue().getPageNumber());
+        assertEquals("name: DESC,id: DESC", pageable.getValue().getSort().toString());
+        assertEquals(2, page.getPage());
+        assertEquals(25, page.getTotalElements());
+        verify(repo, never()).findPageWithTotal(any(), anyInt(), anyInt(), any(), any());
+        verifyNoInteractions(metrics);
+    }
+
+    @Test
+    void testGetStudentPage_emptyTable() {
+        when(countRegistry.current()).thenReturn(0L);
+        when(repo.findSummariesBy(any(Pageable.class))).thenReturn(List.of());
+
+        PageResult<StudentSummaryDto> page = service.getStudentPage("", 3, 10, "id", "asc");
+
+        assertEquals(0, page.getPage());
+        assertEquals(0, page.getTotalPages());
+    }
+
+    @Test
+    void testCountSearchResults_fromNameIndex() {
+        when(nameIndex.canSearch(anyString())).thenReturn(true);
+        when(nameIndex.count("john")).thenReturn(4L);
+
+        assertEquals(4, service.countSearchResults("john"));
+        verify(repo, never()).countByNameContainingIgnoreCase(anyString());
+    }
+
+    @Test
+    void testCountSearchResults_keywordIndexCannotServe_countsInDatabase() {
+        when(repo.countByNameContainingIgnoreCase("jo")).thenReturn(3L);
+
+        assertEquals(3, service.countSearchResults("jo"));
+        verify(nameIndex, never()).count(anyString());
+    }
+
+    @Test
+    void testGetStudentPage_search_resolvesIdsFromNameIndex() {
+        when(nameIndex.canSearch(anyString())).thenReturn(true);
+        when(nameIndex.page("jo", 0, 2, "name", "asc")).thenReturn(new PageResult<>(List.of(7, 3), 0, 2, 5));
+        // database order differs from index order
+        when(repo.findSummariesByIdIn(List.of(7, 3))).thenReturn(List.of(summary(3, "John"), summary(7, "Jo")));
+
+        PageResult<StudentSummaryDto> page = service.getStudentPage("jo", 0, 2, "name", "asc");
+
+        assertEquals(List.of(7, 3), ids(page.getContent()));
+        assertEquals(5, page.getTotalElements());
+        verify(repo, never()).findPageWithTotal(any(), anyInt(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testSearchStudentsSorted_fromNameIndex_outOfRangeIsEmpty() {
+        when(nameIndex.canSearch(anyString())).thenReturn(true);
+        when(nameIndex.page("jo", 4, 5, "id", "asc")).thenReturn(new PageResult<>(List.of(1), 0, 5, 1));
+
+        List<StudentResponseDto> list = service.searchStudentsSorted("jo", 4, 5, "id", "asc");
+
+        assertTrue(list.isEmpty());
+        verify(repo, never()).findAllById(any());
+    }
+
+    @Test
+    void testSearchStudents_fromNameIndex() {
+        Student first = student(2, "Jo");
+        Student second = student(5, "Joe");
+
+        when(nameIndex.canSearch(anyString())).thenReturn(true);
+        when(nameIndex.page("jo", 0, 10, "id", "asc")).thenReturn(new PageResult<>(List.of(2, 5), 0, 10, 2));
+        when(repo.findAllById(List.of(2, 5))).thenReturn(List.of(second, first));
+        when(mapper.toResponseDto(any(Student.class))).thenAnswer(inv -> {
+            StudentResponseDto dto = new StudentResponseDto();
+            dto.setId(((Student) inv.getArgument(0)).getId());
+            return dto;
+        });
+
+        List<StudentResponseDto> list = service.searchStudents("jo", 0, 10);
+
+        assertEquals(List.of(2, 5), list.stream().map(StudentResponseDto::getId).toList());
     }
 
 }
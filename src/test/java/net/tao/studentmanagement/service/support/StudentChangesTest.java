@@ -0,0 +1,47 @@
+package net.tao.studentmanagement.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import net.tao.studentmanagement.dto.StudentRequestDto;
+
+class StudentChangesTest {
+
+	/** Values the edit form was rendered with. */
+	private StudentRequestDto original() {
+		StudentRequestDto original = new StudentRequestDto();
+		original.setName("Ann");
+		original.setGender("F");
+		original.setDob(LocalDate.of(2001, 2, 3));
+		original.setEmail("ann@test.com");
+		original.setMobile("0123");
+		return original;
+	}
+
+	@Test
+	void between_unchangedForm_hasNoChanges() {
+		assertEquals(Set.of(), StudentChanges.between(original(), original()));
+	}
+
+	@Test
+	void between_reportsChangedFieldsOnly() {
+		StudentRequestDto submitted = original();
+		submitted.setMobile("0999");
+		submitted.setAddress("Texas");
+
+		assertEquals(Set.of("address", "mobile"), StudentChanges.between(original(), submitted));
+	}
+
+	@Test
+	void between_emptyTextFieldKeepsValueButEmptyDobClearsIt() {
+		StudentRequestDto submitted = original();
+		submitted.setEmail(null);
+		submitted.setDob(null);
+
+		assertEquals(Set.of("dob"), StudentChanges.between(original(), submitted));
+	}
+}
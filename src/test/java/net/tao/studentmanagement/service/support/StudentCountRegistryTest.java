@@ -0,0 +1,72 @@
+package net.tao.studentmanagement.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.tao.studentmanagement.event.StudentChangedEvent;
+import net.tao.studentmanagement.repository.StudentRepository;
+
+class StudentCountRegistryTest {
+
+	private StudentRepository repo;
+	private StudentCountRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		repo = mock(StudentRepository.class);
+		registry = new StudentCountRegistry(repo);
+	}
+
+	@Test
+	void current_seedsOnceFromDatabase() {
+		when(repo.count()).thenReturn(5L);
+
+		assertEquals(5, registry.current());
+		assertEquals(5, registry.current());
+		verify(repo, times(1)).count();
+	}
+
+	@Test
+	void onStudentChanged_appliesCreatesAndDeletes() {
+		when(repo.count()).thenReturn(5L);
+		registry.seed();
+
+		registry.onStudentChanged(StudentChangedEvent.created(6, "New"));
+		registry.onStudentChanged(StudentChangedEvent.deleted(List.of(1, 2)));
+		registry.onStudentChanged(StudentChangedEvent.updated(3, "Renamed"));
+
+		assertEquals(4, registry.current());
+	}
+
+	@Test
+	void reconcile_replacesDriftedValue() {
+		when(repo.count()).thenReturn(5L, 9L);
+		registry.seed();
+
+		registry.reconcile();
+
+		assertEquals(9, registry.current());
+	}
+
+	@Test
+	void reconcile_skipsWhenChangeAppliedDuringCount() {
+		when(repo.count()).thenReturn(5L).thenAnswer(inv -> {
+			registry.onStudentChanged(StudentChangedEvent.created(6, "Racing"));
+			return 6L;
+		});
+		registry.seed();
+
+		registry.reconcile();
+
+		// the concurrent create was applied; the possibly stale COUNT was not
+		assertEquals(6, registry.current());
+	}
+}
@@ -0,0 +1,132 @@
+package net.tao.studentmanagement.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import net.tao.studentmanagement.dto.StudentRequestDto;
+import net.tao.studentmanagement.dto.StudentResponseDto;
+import net.tao.studentmanagement.event.StudentChangedEvent;
+import net.tao.studentmanagement.service.StudentService;
+
+@SpringBootTest
+class StudentDetailCacheTest {
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private StudentDetailCache detailCache;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private Cache cache;
+
+	private static StudentResponseDto student(int id) {
+		StudentResponseDto student = new StudentResponseDto();
+		student.setId(id);
+		return student;
+	}
+
+	@BeforeEach
+	void setUp() {
+		cache = cacheManager.getCache(StudentDetailCache.NAME);
+		cache.clear();
+	}
+
+	@Test
+	void getStudentById_isServedFromCacheAfterFirstRead() {
+		long hits = detailCache.statistics().hitCount();
+
+		StudentResponseDto first = studentService.getStudentById(1);
+		StudentResponseDto second = studentService.getStudentById(1);
+
+		assertSame(first, second);
+		assertEquals(hits + 1, detailCache.statistics().hitCount());
+		assertNotNull(cache.get(1));
+	}
+
+	@Test
+	void updateStudent_evictsCachedEntryAfterCommit() {
+		StudentResponseDto cached = studentService.getStudentById(1);
+
+		StudentRequestDto request = new StudentRequestDto();
+		request.setName(cached.getName());
+		request.setGender(cached.getGender());
+		request.setDob(LocalDate.parse(cached.getDob()));
+		studentService.updateStudent(1, request);
+
+		assertNull(cache.get(1));
+	}
+
+	@Test
+	void put_keepsLoadFromCurrentGeneration() {
+		StudentResponseDto student = student(7);
+
+		detailCache.put(student, detailCache.generation());
+
+		assertSame(student, detailCache.get(7));
+	}
+
+	@Test
+	void put_dropsLoadThatRacedAnUpdate() {
+		long loadedIn = detailCache.generation();
+		// the update commits and evicts while the old row is still being mapped
+		detailCache.onStudentChanged(StudentChangedEvent.updated(7, null));
+
+		detailCache.put(student(7), loadedIn);
+
+		assertNull(detailCache.get(7));
+	}
+
+	@Test
+	void createdStudentsDoNotInvalidateLoadsInFlight() {
+		long loadedIn = detailCache.generation();
+		detailCache.onStudentChanged(StudentChangedEvent.created(8, "New"));
+
+		detailCache.put(student(7), loadedIn);
+
+		assertNotNull(detailCache.get(7));
+	}
+
+	@Test
+	void statistics_countMissesAndHits() {
+		CacheStats before = detailCache.statistics();
+
+		detailCache.get(7);
+		detailCache.put(student(7), detailCache.generation());
+		detailCache.get(7);
+
+		CacheStats delta = detailCache.statistics().minus(before);
+		assertEquals(1, delta.missCount());
+		assertEquals(1, delta.hitCount());
+		assertDoesNotThrow(detailCache::logStatistics);
+	}
+
+	@Test
+	void onStudentChanged_evictsOnlyAffectedIds() {
+		cache.put(1, new StudentResponseDto());
+		cache.put(2, new StudentResponseDto());
+
+		detailCache.onStudentChanged(StudentChangedEvent.created(3, "New"));
+		detailCache.onStudentChanged(StudentChangedEvent.deleted(List.of(2)));
+
+		assertNotNull(cache.get(1));
+		assertNull(cache.get(2));
+	}
+}
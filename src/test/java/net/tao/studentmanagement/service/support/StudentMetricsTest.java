@@ -0,0 +1,40 @@
+package net.tao.studentmanagement.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StudentMetricsTest {
+
+	@Test
+	void recordSearchResults_feedsDistributionSummary() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		StudentMetrics metrics = new StudentMetrics(registry);
+
+		metrics.recordSearchResults(0);
+		metrics.recordSearchResults(12);
+
+		DistributionSummary summary = registry.get("student.search.results").summary();
+		assertEquals(2, summary.count());
+		assertEquals(12, summary.totalAmount());
+		assertEquals(12, summary.max());
+	}
+
+	@Test
+	void recordDetailLoad_feedsTimer() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		StudentMetrics metrics = new StudentMetrics(registry);
+
+		metrics.recordDetailLoad(TimeUnit.MILLISECONDS.toNanos(3));
+
+		Timer timer = registry.get("student.detail.load").timer();
+		assertEquals(1, timer.count());
+		assertEquals(3, timer.totalTime(TimeUnit.MILLISECONDS));
+	}
+}
@@ -0,0 +1,175 @@
+package net.tao.studentmanagement.service.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.tao.studentmanagement.dto.PageResult;
+import net.tao.studentmanagement.event.StudentChangedEvent;
+import net.tao.studentmanagement.repository.StudentNameView;
+import net.tao.studentmanagement.repository.StudentRepository;
+
+class StudentNameIndexTest {
+
+	private StudentNameIndex index;
+
+	@BeforeEach
+	void setUp() {
+		StudentRepository repo = mock(StudentRepository.class);
+		when(repo.streamAllNames()).thenReturn(Stream.of(view(1, "Alice"), view(2, "Elisa"), view(3, "Malik"),
+				view(4, "alicia"), view(5, "Bob"), view(6, "Cabab")));
+		index = new StudentNameIndex(repo);
+		assertFalse(index.isReady());
+		index.build();
+	}
+
+	private StudentNameView view(Integer id, String name) {
+		return new StudentNameView() {
+			@Override
+			public Integer getId() {
+				return id;
+			}
+
+			@Override
+			public String getName() {
+				return name;
+			}
+		};
+	}
+
+	@Test
+	void count_matchesSubstringsCaseInsensitively() {
+		assertTrue(index.isReady());
+		assertEquals(2, index.count("ALIC"));
+		assertEquals(3, index.count("ali"));
+		assertEquals(1, index.count("lis"));
+		assertEquals(0, index.count("xyz"));
+	}
+
+	@Test
+	void canSearch_leavesKeywordsShorterThanAGramToTheDatabase() {
+		assertTrue(index.canSearch("lis"));
+		assertFalse(index.canSearch("li"));
+		assertFalse(index.canSearch(null));
+		assertThrows(IllegalArgumentException.class, () -> index.count("li"));
+	}
+
+	@Test
+	void build_replaysChangesCommittedWhileReadingTheTable() {
+		StudentRepository repo = mock(StudentRepository.class);
+		StudentNameIndex rebuilt = new StudentNameIndex(repo);
+		// the create commits after the stream has already passed its row
+		when(repo.streamAllNames()).thenReturn(Stream.of(view(1, "Alice"), view(2, "Elisa"))
+				.peek(row -> rebuilt.onStudentChanged(StudentChangedEvent.created(row.getId() + 10, "Carl"))));
+
+		rebuilt.build();
+
+		assertEquals(2, rebuilt.count("carl"));
+		assertEquals(1, rebuilt.count("lis"));
+		assertEquals(2, rebuilt.ordinalOf(12, "Carl", "name", "asc"));
+	}
+
+	@Test
+	void count_confirmsSubstringBeyondSharedGrams() {
+		// every gram of "ababab" occurs in "Cabab", but the keyword itself does not
+		assertEquals(0, index.count("ababab"));
+		assertEquals(1, index.count("abab"));
+		assertEquals(2, index.count("alic"));
+	}
+
+	@Test
+	void page_ordersByNameThenIdAndClamps() {
+		PageResult<Integer> page = index.page("ali", 5, 2, "name", "asc");
+
+		// "Alice", "Malik" | "alicia" (upper case sorts first)
+		assertEquals(1, page.getPage());
+		assertEquals(List.of(4), page.getContent());
+		assertEquals(3, page.getTotalElements());
+	}
+
+	@Test
+	void page_ordersByIdDescending() {
+		PageResult<Integer> page = index.page("ali", 0, 3, "id", "desc");
+
+		assertEquals(List.of(4, 3, 1), page.getContent());
+	}
+
+	@Test
+	void page_walksLongKeywordInNameOrderDescending() {
+		PageResult<Integer> page = index.page("alic", 1, 1, "name", "desc");
+
+		// alicia | Alice
+		assertEquals(List.of(1), page.getContent());
+		assertEquals(2, page.getTotalElements());
+		assertEquals(List.of(), index.page("ababab", 0, 5, "name", "asc").getContent());
+	}
+
+	@Test
+	void page_rejectsSortTheIndexCannotServe() {
+		assertThrows(IllegalArgumentException.class, () -> index.page("a", 0, 10, "email", "asc"));
+	}
+
+	@Test
+	void onStudentChanged_keepsIndexInSync() {
+		index.onStudentChanged(StudentChangedEvent.created(Map.of(6, "Bobby", 7, "Rob")));
+		index.onStudentChanged(StudentChangedEvent.updated(5, "Zed"));
+		index.onStudentChanged(StudentChangedEvent.deleted(List.of(6)));
+		index.onStudentChanged(StudentChangedEvent.updated(1, null));
+
+		assertEquals(1, index.count("rob"));
+		assertEquals(0, index.count("bob"));
+		assertEquals(1, index.count("zed"));
+		assertEquals(2, index.count("alic"));
+	}
+
+	@Test
+	void ordinalOf_placesPendingStudentByIdAndByName() {
+		// existing: Alice(1) Bob(5) Cabab(6) Elisa(2) Malik(3) alicia(4); new: Carl(7)
+		assertEquals(6, index.ordinalOf(7, "Carl", "id", "asc"));
+		assertEquals(0, index.ordinalOf(7, "Carl", "id", "desc"));
+		assertEquals(3, index.ordinalOf(7, "Carl", "name", "asc"));
+		assertEquals(3, index.ordinalOf(7, "Carl", "name", "desc"));
+	}
+
+	@Test
+	void ordinalOf_ignoresOwnEntryOnceIndexed() {
+		index.onStudentChanged(StudentChangedEvent.created(7, "Carl"));
+
+		assertEquals(6, index.ordinalOf(7, "Carl", "id", "asc"));
+		assertEquals(3, index.ordinalOf(7, "Carl", "name", "asc"));
+	}
+
+	@Test
+	void ordinalOf_placesRenamedStudentByNewName() {
+		// Alice(1) becomes Dora: Bob Cabab Dora Elisa Malik alicia
+		assertEquals(2, index.ordinalOf(1, "Dora", "name", "asc"));
+		assertEquals(3, index.ordinalOf(1, "Dora", "name", "desc"));
+	}
+
+	@Test
+	void ordinalOf_rejectsSortTheIndexCannotServe() {
+		assertThrows(IllegalArgumentException.class, () -> index.ordinalOf(7, "Carl", "dob", "asc"));
+	}
+
+	@Test
+	void ordinalOf_tracksDeletesAndLargeIds() {
+		index.onStudentChanged(StudentChangedEvent.deleted(List.of(2, 3)));
+		index.onStudentChanged(StudentChangedEvent.created(5000, "Zoe"));
+		index.onStudentChanged(StudentChangedEvent.created(70, "Ann"));
+
+		assertEquals(5, index.ordinalOf(100, "X", "id", "asc"));
+		assertEquals(6, index.ordinalOf(6001, "X", "id", "asc"));
+		assertEquals(5, index.ordinalOf(5000, "Zoe", "id", "asc"));
+		assertEquals(0, index.ordinalOf(5000, "Zoe", "id", "desc"));
+	}
+}